@@ -0,0 +1,78 @@
+package com.gitrepository.gitrepository.lock;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+public abstract class AbstractRepoLockManager implements RepoLockManager {
+
+    private final MeterRegistry meterRegistry;
+    private final long waitSeconds;
+
+    protected AbstractRepoLockManager(MeterRegistry meterRegistry, long waitSeconds) {
+        this.meterRegistry = meterRegistry;
+        this.waitSeconds = waitSeconds;
+    }
+
+    @Override
+    public RepoLock readLock(String repoName) {
+        return acquire(repoName, false);
+    }
+
+    @Override
+    public RepoLock writeLock(String repoName) {
+        return acquire(repoName, true);
+    }
+
+    protected abstract String mode();
+
+    protected abstract RepoLock tryAcquire(String key, boolean write, long waitSeconds) throws InterruptedException;
+
+    private RepoLock acquire(String repoName, boolean write) {
+        String key = lockKey(repoName);
+        long start = System.nanoTime();
+        RepoLock lock = null;
+        try {
+            lock = tryAcquire(key, write, waitSeconds);
+            if (lock == null) {
+                throw new IllegalStateException("Could not acquire the lock");
+            }
+            return withHoldTimer(lock, write);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the lock", e);
+        } finally {
+            Timer.builder("git.lock.wait")
+                    .tag("mode", mode())
+                    .tag("type", write ? "write" : "read")
+                    .tag("outcome", lock != null ? "acquired" : "timeout")
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private RepoLock withHoldTimer(RepoLock lock, boolean write) {
+        Timer holdTimer = Timer.builder("git.lock.hold")
+                .tag("mode", mode())
+                .tag("type", write ? "write" : "read")
+                .register(meterRegistry);
+        long acquiredAt = System.nanoTime();
+        return new RepoLock(lock.getKey(), () -> {
+            holdTimer.record(System.nanoTime() - acquiredAt, TimeUnit.NANOSECONDS);
+            lock.close();
+        });
+    }
+
+    static String lockKey(String repoName) {
+        if (repoName == null || repoName.isEmpty()) {
+            throw new IllegalArgumentException("Repository is Empty .");
+        }
+        String name = new File(repoName).getName();
+        if (name.endsWith(".git")) {
+            name = name.substring(0, name.length() - ".git".length());
+        }
+        return "lock:repo:" + name;
+    }
+}
@@ -0,0 +1,13 @@
+package com.gitrepository.gitrepository.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AheadBehindDto {
+  private int ahead;
+  private int behind;
+}
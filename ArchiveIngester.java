@@ -0,0 +1,298 @@
+package com.gitrepository.gitrepository.service;
+
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+@Component
+public class ArchiveIngester {
+
+    private static final Logger LOGGER = Logger.getLogger(ArchiveIngester.class.getName());
+
+    private static final int TAR_BLOCK = 512;
+
+    @Value("${git.ingest.memory-buffer-bytes:1048576}")
+    private int memoryBufferBytes;
+
+    @Value("${git.ingest.max-entries:100000}")
+    private int maxEntries;
+
+    public static boolean isArchive(String fileName) {
+        if (fileName == null) {
+            return false;
+        }
+        String name = fileName.toLowerCase(Locale.ROOT);
+        return name.endsWith(".zip") || name.endsWith(".tar.gz") || name.endsWith(".tgz");
+    }
+
+    public int ingest(String archiveName, InputStream inputStream, ObjectInserter inserter,
+                      TreeEdits edits) throws IOException {
+        String name = archiveName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".zip")) {
+            return ingestZip(inputStream, inserter, edits);
+        }
+        if (name.endsWith(".tar.gz") || name.endsWith(".tgz")) {
+            return ingestTar(new GZIPInputStream(inputStream, 64 * 1024), inserter, edits);
+        }
+        throw new IllegalArgumentException("Unsupported archive type: " + archiveName);
+    }
+
+    private int ingestZip(InputStream inputStream, ObjectInserter inserter, TreeEdits edits) throws IOException {
+        int count = 0;
+        try (ZipInputStream zip = new ZipInputStream(new BufferedInputStream(inputStream, 64 * 1024))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                checkEntryCount(++count);
+                String path = entryPath(entry.getName());
+                ObjectId blobId = entry.getSize() >= 0
+                        ? inserter.insert(Constants.OBJ_BLOB, entry.getSize(), zip)
+                        : insertUnknownSize(inserter, zip);
+                edits.put(path, blobId);
+            }
+        }
+        return count;
+    }
+
+    private int ingestTar(InputStream inputStream, ObjectInserter inserter, TreeEdits edits) throws IOException {
+        int count = 0;
+        byte[] header = new byte[TAR_BLOCK];
+        String longName = null;
+        try (InputStream tar = new BufferedInputStream(inputStream, 64 * 1024)) {
+            while (true) {
+                int read = tar.readNBytes(header, 0, TAR_BLOCK);
+                if (read == 0 || isZeroBlock(header)) {
+                    break;
+                }
+                if (read < TAR_BLOCK) {
+                    throw new EOFException("Truncated tar header");
+                }
+
+                long size = parseOctal(header, 124, 12);
+                char type = (char) header[156];
+                String name = longName != null ? longName : headerName(header);
+                longName = null;
+
+                if (type == 'L' || type == 'x') {
+                    String extended = new String(readFully(tar, size), StandardCharsets.UTF_8);
+                    longName = type == 'L' ? trimNul(extended) : paxPath(extended);
+                } else if (type == '0' || type == '\0' || type == '7') {
+                    checkEntryCount(++count);
+                    InputStream entry = new BoundedInputStream(tar, size);
+                    edits.put(entryPath(name), inserter.insert(Constants.OBJ_BLOB, size, entry));
+                    entry.skip(Long.MAX_VALUE);
+                } else {
+                    LOGGER.fine("Skipping tar entry " + name + " of type " + type);
+                    skipFully(tar, size);
+                }
+                skipFully(tar, padding(size));
+            }
+        }
+        return count;
+    }
+
+    ObjectId insertBlob(ObjectInserter inserter, long length, InputStream inputStream) throws IOException {
+        return length >= 0
+                ? inserter.insert(Constants.OBJ_BLOB, length, inputStream)
+                : insertUnknownSize(inserter, inputStream);
+    }
+
+    private ObjectId insertUnknownSize(ObjectInserter inserter, InputStream inputStream) throws IOException {
+        byte[] buffer = inputStream.readNBytes(memoryBufferBytes);
+        if (buffer.length < memoryBufferBytes) {
+            return inserter.insert(Constants.OBJ_BLOB, buffer);
+        }
+        Path spill = Files.createTempFile("git-ingest-", ".blob");
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(spill)) {
+                outputStream.write(buffer);
+                inputStream.transferTo(outputStream);
+            }
+            try (InputStream spilled = Files.newInputStream(spill)) {
+                return inserter.insert(Constants.OBJ_BLOB, Files.size(spill), spilled);
+            }
+        } finally {
+            Files.deleteIfExists(spill);
+        }
+    }
+
+    private void checkEntryCount(int count) {
+        if (count > maxEntries) {
+            throw new IllegalArgumentException("Archive has more than " + maxEntries + " entries.");
+        }
+    }
+
+    static String entryPath(String name) {
+        String path = TreeEdits.normalizePath(name);
+        for (String segment : path.split("/")) {
+            if (segment.equals("..") || segment.equals(".") || segment.isEmpty()) {
+                throw new IllegalArgumentException("Invalid archive entry path: " + name);
+            }
+        }
+        if (path.equals(Constants.DOT_GIT) || path.startsWith(Constants.DOT_GIT + "/")) {
+            throw new IllegalArgumentException("Invalid archive entry path: " + name);
+        }
+        return path;
+    }
+
+    private static String headerName(byte[] header) {
+        String name = field(header, 0, 100);
+        String magic = field(header, 257, 6);
+        if (magic.startsWith("ustar")) {
+            String prefix = field(header, 345, 155);
+            if (!prefix.isEmpty()) {
+                return prefix + "/" + name;
+            }
+        }
+        return name;
+    }
+
+    private static String paxPath(String records) {
+        String path = null;
+        int offset = 0;
+        while (offset < records.length()) {
+            int space = records.indexOf(' ', offset);
+            if (space < 0) {
+                break;
+            }
+            int length = Integer.parseInt(records.substring(offset, space));
+            String record = records.substring(space + 1, offset + length - 1);
+            if (record.startsWith("path=")) {
+                path = record.substring("path=".length());
+            }
+            offset += length;
+        }
+        return path;
+    }
+
+    private static String field(byte[] header, int offset, int length) {
+        return trimNul(new String(header, offset, length, StandardCharsets.UTF_8));
+    }
+
+    private static String trimNul(String value) {
+        int end = value.indexOf('\0');
+        return end >= 0 ? value.substring(0, end) : value;
+    }
+
+    private static long parseOctal(byte[] header, int offset, int length) {
+        long value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            byte b = header[i];
+            if (b == 0 || b == ' ') {
+                if (value != 0) {
+                    break;
+                }
+                continue;
+            }
+            if (b < '0' || b > '7') {
+                throw new IllegalArgumentException("Invalid tar header size");
+            }
+            value = value * 8 + (b - '0');
+        }
+        return value;
+    }
+
+    private static boolean isZeroBlock(byte[] block) {
+        for (byte b : block) {
+            if (b != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long padding(long size) {
+        long remainder = size % TAR_BLOCK;
+        return remainder == 0 ? 0 : TAR_BLOCK - remainder;
+    }
+
+    private static byte[] readFully(InputStream inputStream, long size) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Tar extended header is too large");
+        }
+        byte[] data = inputStream.readNBytes((int) size);
+        if (data.length < size) {
+            throw new EOFException("Truncated tar entry");
+        }
+        return data;
+    }
+
+    private static void skipFully(InputStream inputStream, long count) throws IOException {
+        long remaining = count;
+        while (remaining > 0) {
+            long skipped = inputStream.skip(remaining);
+            if (skipped <= 0) {
+                if (inputStream.read() < 0) {
+                    throw new EOFException("Truncated tar archive");
+                }
+                skipped = 1;
+            }
+            remaining -= skipped;
+        }
+    }
+
+    private static class BoundedInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        BoundedInputStream(InputStream inputStream, long size) {
+            super(inputStream);
+            this.remaining = size;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = super.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = super.read(buffer, offset, (int) Math.min(length, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long count) throws IOException {
+            long toSkip = Math.min(count, remaining);
+            skipFully(in, toSkip);
+            remaining -= toSkip;
+            return toSkip;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.gitrepository.gitrepository.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BlobInfoDto {
+  private String objectId;
+  private long size;
+  private boolean binary;
+}
@@ -0,0 +1,23 @@
+package com.gitrepository.gitrepository.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BranchDto {
+  private String name;
+  private String refName;
+  private String tipId;
+  private String author;
+  private String authorEmail;
+  private String timestamp;
+  private String message;
+  private boolean defaultBranch;
+  private Integer ahead;
+  private Integer behind;
+}
@@ -0,0 +1,15 @@
+package com.gitrepository.gitrepository.exception;
+
+public class BranchMovedException extends IllegalStateException {
+
+    private final String branchName;
+
+    public BranchMovedException(String branchName, String message) {
+        super(message);
+        this.branchName = branchName;
+    }
+
+    public String getBranchName() {
+        return branchName;
+    }
+}
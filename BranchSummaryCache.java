@@ -0,0 +1,43 @@
+package com.gitrepository.gitrepository.service;
+
+import com.gitrepository.gitrepository.dto.BranchDto;
+import org.eclipse.jgit.lib.AnyObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+public class BranchSummaryCache {
+
+    private final int maxEntries;
+
+    private final LinkedHashMap<String, BranchDto> entries;
+
+    public BranchSummaryCache(@Value("${git.branches.cache-entries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, BranchDto> eldest) {
+                return size() > BranchSummaryCache.this.maxEntries;
+            }
+        };
+    }
+
+    public static String key(String repoName, AnyObjectId tip, AnyObjectId base) {
+        return repoName + ":" + tip.getName() + ":" + (base == null ? "-" : base.getName());
+    }
+
+    public BranchDto get(String key) {
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    public void put(String key, BranchDto summary) {
+        synchronized (entries) {
+            entries.put(key, summary);
+        }
+    }
+}
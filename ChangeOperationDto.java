@@ -0,0 +1,19 @@
+package com.gitrepository.gitrepository.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChangeOperationDto {
+  private String action;
+  private String path;
+  private String fromPath;
+  private String content;
+  private String encoding;
+  private Boolean executable;
+}
@@ -0,0 +1,117 @@
+package com.gitrepository.gitrepository.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.gitrepository.gitrepository.dto.ChangeOperationDto;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Locale;
+
+@Component
+public class ChangesetReader {
+
+    private final ObjectReader operationReader;
+
+    @Value("${git.changeset.max-operations:10000}")
+    private int maxOperations;
+
+    public ChangesetReader(ObjectMapper objectMapper) {
+        this.operationReader = objectMapper.readerFor(ChangeOperationDto.class);
+    }
+
+    public int read(InputStream inputStream, ObjectInserter inserter, TreeEdits edits) throws IOException {
+        int count = 0;
+        try (MappingIterator<ChangeOperationDto> operations = operationReader.readValues(inputStream)) {
+            while (operations.hasNextValue()) {
+                if (++count > maxOperations) {
+                    throw new IllegalArgumentException("Changeset exceeds " + maxOperations + " operations.");
+                }
+                apply(operations.nextValue(), inserter, edits);
+            }
+        }
+        if (edits.isEmpty()) {
+            throw new IllegalArgumentException("Changeset is empty.");
+        }
+        return count;
+    }
+
+    private void apply(ChangeOperationDto operation, ObjectInserter inserter, TreeEdits edits) throws IOException {
+        if (operation == null || operation.getAction() == null) {
+            throw new IllegalArgumentException("Changeset operation is missing an action.");
+        }
+        String path = operationPath(operation.getPath());
+        switch (operation.getAction().toLowerCase(Locale.ROOT)) {
+            case "create":
+                edits.create(path, insertContent(operation, inserter), fileMode(operation));
+                break;
+            case "update":
+                edits.update(path, insertContent(operation, inserter), fileMode(operation));
+                break;
+            case "delete":
+                edits.delete(path);
+                break;
+            case "move":
+                edits.move(operationPath(operation.getFromPath()), path);
+                if (operation.getExecutable() != null) {
+                    edits.chmod(path, fileMode(operation));
+                }
+                break;
+            case "chmod":
+                if (operation.getExecutable() == null) {
+                    throw new IllegalArgumentException("chmod requires the executable flag: " + path);
+                }
+                edits.chmod(path, fileMode(operation));
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported changeset action: " + operation.getAction());
+        }
+    }
+
+    private ObjectId insertContent(ChangeOperationDto operation, ObjectInserter inserter) throws IOException {
+        String content = operation.getContent() == null ? "" : operation.getContent();
+        String encoding = operation.getEncoding() == null ? "utf-8" : operation.getEncoding().toLowerCase(Locale.ROOT);
+        byte[] bytes;
+        switch (encoding) {
+            case "utf-8":
+            case "text":
+                bytes = content.getBytes(StandardCharsets.UTF_8);
+                break;
+            case "base64":
+                bytes = Base64.getMimeDecoder().decode(content);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported content encoding: " + operation.getEncoding());
+        }
+        return inserter.insert(Constants.OBJ_BLOB, bytes);
+    }
+
+    private FileMode fileMode(ChangeOperationDto operation) {
+        if (operation.getExecutable() == null) {
+            return null;
+        }
+        return operation.getExecutable() ? FileMode.EXECUTABLE_FILE : FileMode.REGULAR_FILE;
+    }
+
+    private static String operationPath(String name) {
+        String path = TreeEdits.normalizePath(name);
+        for (String segment : path.split("/")) {
+            if (segment.equals("..") || segment.equals(".") || segment.isEmpty()) {
+                throw new IllegalArgumentException("Invalid path: " + name);
+            }
+        }
+        if (path.equals(Constants.DOT_GIT) || path.startsWith(Constants.DOT_GIT + "/")) {
+            throw new IllegalArgumentException("Invalid path: " + name);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,18 @@
+package com.gitrepository.gitrepository.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChangesetResultDto {
+  private String branchName;
+  private String parentId;
+  private String commitId;
+  private int operationCount;
+  private ConsolidatedStatusDto status;
+}
@@ -0,0 +1,229 @@
+package com.gitrepository.gitrepository.service;
+
+import com.gitrepository.gitrepository.dto.AheadBehindDto;
+import org.eclipse.jgit.lib.AnyObjectId;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevFlag;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class CommitGraphIndex {
+
+    @Value("${git.commit-index.max-entries:1024}")
+    private int maxEntries;
+
+    @Value("${git.commit-index.max-repositories:256}")
+    private int maxRepositories;
+
+    // Counts are kept in memory only: the repositories live on shared storage, and a file written next to
+    // them by every node would need coordination that a recount does not.
+    private final LinkedHashMap<File, RepositoryIndex> indexes = new LinkedHashMap<>(16, 0.75f, true);
+
+    public int countCommits(Repository repository, ObjectId tip) throws IOException {
+        RepositoryIndex index = indexFor(repository);
+        index.lock.lock();
+        try {
+            Integer known = index.counts.get(tip);
+            if (known != null) {
+                return known;
+            }
+
+            try (RevWalk revWalk = new RevWalk(repository)) {
+                // Walk back from the tip until any indexed commit turns up. Without one, the walk itself is the count.
+                revWalk.markStart(revWalk.parseCommit(tip));
+                RevCommit ancestor = null;
+                int count = 0;
+                for (RevCommit commit : revWalk) {
+                    if (index.counts.containsKey(commit)) {
+                        ancestor = commit;
+                        break;
+                    }
+                    count++;
+                }
+
+                if (ancestor != null) {
+                    // Commits reached before the ancestor may still share history with it through merges,
+                    // so count exactly what the tip adds on top of it.
+                    count = index.counts.get(ancestor);
+                    revWalk.reset();
+                    revWalk.markStart(revWalk.parseCommit(tip));
+                    revWalk.markUninteresting(ancestor);
+                    for (RevCommit ignored : revWalk) {
+                        count++;
+                    }
+                }
+
+                index.put(tip, count, maxEntries);
+                return count;
+            }
+        } finally {
+            index.lock.unlock();
+        }
+    }
+
+    public AheadBehindDto aheadBehind(Repository repository, AnyObjectId commit, AnyObjectId base) throws IOException {
+        try (RevWalk revWalk = new RevWalk(repository)) {
+            return aheadBehind(revWalk, commit, base);
+        }
+    }
+
+    // One pass over both histories, newest commit first: a commit reached from only one side counts towards that
+    // side, and the walk stops once every queued commit is reachable from both, i.e. at the merge-base frontier.
+    public AheadBehindDto aheadBehind(RevWalk revWalk, AnyObjectId commit, AnyObjectId base) throws IOException {
+        RevCommit commitTip = revWalk.parseCommit(commit);
+        RevCommit baseTip = revWalk.parseCommit(base);
+        if (commitTip == baseTip) {
+            return new AheadBehindDto(0, 0);
+        }
+        AheadBehindWalk walk = new AheadBehindWalk(revWalk);
+        try {
+            return walk.run(commitTip, baseTip);
+        } finally {
+            walk.dispose();
+        }
+    }
+
+    public void forget(Repository repository) {
+        synchronized (indexes) {
+            indexes.remove(repository.getDirectory().getAbsoluteFile());
+        }
+    }
+
+    private RepositoryIndex indexFor(Repository repository) {
+        File directory = repository.getDirectory().getAbsoluteFile();
+        synchronized (indexes) {
+            RepositoryIndex index = indexes.computeIfAbsent(directory, dir -> new RepositoryIndex());
+            Iterator<File> eldest = indexes.keySet().iterator();
+            while (indexes.size() > maxRepositories && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+            }
+            return index;
+        }
+    }
+
+    private static class RepositoryIndex {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<ObjectId, Integer> counts = new LinkedHashMap<>(16, 0.75f, true);
+
+        void put(ObjectId tip, int count, int maxEntries) {
+            counts.put(tip.copy(), count);
+            while (counts.size() > maxEntries) {
+                ObjectId eldest = counts.keySet().iterator().next();
+                counts.remove(eldest);
+            }
+        }
+    }
+
+    private static class AheadBehindWalk {
+
+        private static final int OVER_SCAN = 6;
+
+        private final RevWalk revWalk;
+        private final RevFlag fromCommit;
+        private final RevFlag fromBase;
+        private final RevFlag queued;
+        private final PriorityQueue<RevCommit> queue = new PriorityQueue<>(
+                Comparator.comparingInt(RevCommit::getCommitTime).reversed());
+        private final List<RevCommit> touched = new ArrayList<>();
+
+        private int oneSided;
+        private int ahead;
+        private int behind;
+
+        AheadBehindWalk(RevWalk revWalk) {
+            this.revWalk = revWalk;
+            this.fromCommit = revWalk.newFlag("ahead");
+            this.fromBase = revWalk.newFlag("behind");
+            this.queued = revWalk.newFlag("queued");
+        }
+
+        AheadBehindDto run(RevCommit commitTip, RevCommit baseTip) throws IOException {
+            reach(commitTip, fromCommit);
+            reach(baseTip, fromBase);
+            int overScan = OVER_SCAN;
+            while (!queue.isEmpty()) {
+                // Like JGit's own walk, look a few commits past the frontier to absorb commit-time skew.
+                if (oneSided > 0) {
+                    overScan = OVER_SCAN;
+                } else if (overScan-- == 0) {
+                    break;
+                }
+                RevCommit next = queue.poll();
+                next.remove(queued);
+                if (isOneSided(next)) {
+                    oneSided--;
+                    if (next.has(fromCommit)) {
+                        ahead++;
+                    } else {
+                        behind++;
+                    }
+                }
+                for (RevCommit parent : next.getParents()) {
+                    revWalk.parseHeaders(parent);
+                    if (next.has(fromCommit)) {
+                        reach(parent, fromCommit);
+                    }
+                    if (next.has(fromBase)) {
+                        reach(parent, fromBase);
+                    }
+                }
+            }
+            return new AheadBehindDto(ahead, behind);
+        }
+
+        // Marks a commit as reachable from one side, queueing it when that changes anything. A commit that was
+        // already counted for the other side (possible under clock skew) is taken back out of that count.
+        private void reach(RevCommit commit, RevFlag side) {
+            if (commit.has(side)) {
+                return;
+            }
+            boolean known = commit.has(fromCommit) || commit.has(fromBase);
+            commit.add(side);
+            if (!known) {
+                touched.add(commit);
+                oneSided++;
+            } else if (commit.has(queued)) {
+                oneSided--;
+            } else if (side == fromCommit) {
+                behind--;
+            } else {
+                ahead--;
+            }
+            if (!commit.has(queued)) {
+                commit.add(queued);
+                queue.add(commit);
+            }
+        }
+
+        private boolean isOneSided(RevCommit commit) {
+            return commit.has(fromCommit) != commit.has(fromBase);
+        }
+
+        void dispose() {
+            for (RevCommit commit : touched) {
+                commit.remove(fromCommit);
+                commit.remove(fromBase);
+                commit.remove(queued);
+            }
+            revWalk.disposeFlag(fromCommit);
+            revWalk.disposeFlag(fromBase);
+            revWalk.disposeFlag(queued);
+        }
+    }
+}
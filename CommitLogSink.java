@@ -0,0 +1,11 @@
+package com.gitrepository.gitrepository.service;
+
+import com.gitrepository.gitrepository.dto.CommitDto;
+
+import java.io.IOException;
+
+@FunctionalInterface
+public interface CommitLogSink {
+
+    void accept(CommitDto commit) throws IOException;
+}
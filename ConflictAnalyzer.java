@@ -0,0 +1,146 @@
+package com.gitrepository.gitrepository.service;
+
+import org.eclipse.jgit.diff.RawText;
+import org.eclipse.jgit.diff.Sequence;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.merge.MergeChunk;
+import org.eclipse.jgit.merge.MergeFormatter;
+import org.eclipse.jgit.merge.MergeResult;
+import org.eclipse.jgit.merge.MergeStrategy;
+import org.eclipse.jgit.merge.ResolveMerger;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.revwalk.filter.RevFilter;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class ConflictAnalyzer {
+
+    public Map<String, Object> analyze(Repository repository, String sourceBranch, String targetBranch) throws IOException {
+        Ref targetBranchRef = repository.exactRef(Constants.R_HEADS + targetBranch);
+        if (targetBranchRef == null) {
+            throw new IllegalArgumentException("Target branch does not exist: " + targetBranch);
+        }
+        Ref sourceBranchRef = repository.exactRef(Constants.R_HEADS + sourceBranch);
+        if (sourceBranchRef == null) {
+            throw new IllegalArgumentException("Source branch does not exist: " + sourceBranch);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        try (ObjectInserter inserter = new NonWritingObjectInserter(repository);
+             ObjectReader reader = repository.newObjectReader();
+             RevWalk revWalk = new RevWalk(reader)) {
+            RevCommit targetCommit = revWalk.parseCommit(targetBranchRef.getObjectId());
+            RevCommit sourceCommit = revWalk.parseCommit(sourceBranchRef.getObjectId());
+
+            revWalk.setRevFilter(RevFilter.MERGE_BASE);
+            revWalk.markStart(targetCommit);
+            revWalk.markStart(sourceCommit);
+            RevCommit mergeBase = revWalk.next();
+
+            ResolveMerger merger = (ResolveMerger) MergeStrategy.RESOLVE.newMerger(inserter, repository.getConfig());
+            merger.setBase(mergeBase);
+            if (merger.merge(targetCommit, sourceCommit)) {
+                response.put("message", "No conflict found. Ready to merge.");
+                return response;
+            }
+
+            List<String> labels = Arrays.asList("BASE", targetBranch, sourceBranch);
+            Map<String, MergeResult<? extends Sequence>> mergeResults = merger.getMergeResults();
+            List<Map<String, Object>> conflictFiles = new ArrayList<>();
+            for (String conflictedFile : merger.getUnmergedPaths()) {
+                Map<String, Object> conflictFile = new HashMap<>();
+                conflictFile.put("fileName", conflictedFile);
+
+                @SuppressWarnings("unchecked")
+                MergeResult<RawText> mergeResult = (MergeResult<RawText>) mergeResults.get(conflictedFile);
+                if (mergeResult == null || mergeResult.getSequences().isEmpty()) {
+                    conflictFile.put("conflictContent", "");
+                    conflictFile.put("hunks", new ArrayList<>());
+                } else {
+                    conflictFile.put("conflictContent", renderConflict(mergeResult, labels));
+                    conflictFile.put("hunks", collectHunks(mergeResult));
+                }
+                conflictFiles.add(conflictFile);
+            }
+
+            response.put("message", "Conflict occurs. Resolve conflict changes to merge this PR request.");
+            response.put("conflictFiles", conflictFiles);
+        }
+        return response;
+    }
+
+    private String renderConflict(MergeResult<RawText> mergeResult, List<String> labels) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new MergeFormatter().formatMerge(outputStream, mergeResult, labels, StandardCharsets.UTF_8);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+
+    private List<Map<String, Object>> collectHunks(MergeResult<RawText> mergeResult) {
+        List<RawText> sequences = mergeResult.getSequences();
+        List<Map<String, Object>> hunks = new ArrayList<>();
+        Map<String, Object> hunk = null;
+        for (MergeChunk chunk : mergeResult) {
+            if (chunk.getConflictState() == MergeChunk.ConflictState.NO_CONFLICT) {
+                hunk = null;
+                continue;
+            }
+            if (chunk.getConflictState() == MergeChunk.ConflictState.FIRST_CONFLICTING_RANGE || hunk == null) {
+                hunk = new LinkedHashMap<>();
+                hunks.add(hunk);
+            }
+            String side;
+            switch (chunk.getSequenceIndex()) {
+                case 0:
+                    side = "base";
+                    break;
+                case 1:
+                    side = "target";
+                    break;
+                default:
+                    side = "source";
+                    break;
+            }
+            RawText text = sequences.get(chunk.getSequenceIndex());
+            hunk.put(side + "StartLine", chunk.getBegin() + 1);
+            hunk.put(side + "EndLine", chunk.getEnd());
+            hunk.put(side + "Content", text.getString(chunk.getBegin(), chunk.getEnd(), false));
+        }
+        return hunks;
+    }
+
+    private static class NonWritingObjectInserter extends ObjectInserter.Formatter {
+
+        private final Repository repository;
+
+        NonWritingObjectInserter(Repository repository) {
+            this.repository = repository;
+        }
+
+        @Override
+        public ObjectId insert(int objectType, long length, InputStream in) throws IOException {
+            return idFor(objectType, length, in);
+        }
+
+        @Override
+        public ObjectReader newReader() {
+            return repository.newObjectReader();
+        }
+    }
+}
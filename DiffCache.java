@@ -0,0 +1,171 @@
+package com.gitrepository.gitrepository.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gitrepository.gitrepository.dto.DiffSummaryDto;
+import com.gitrepository.gitrepository.dto.ModifiedFileDto;
+import org.eclipse.jgit.lib.AnyObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+@Component
+public class DiffCache {
+
+    private static final Logger LOGGER = Logger.getLogger(DiffCache.class.getName());
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${git.diff-cache.max-bytes:67108864}")
+    private long maxBytes;
+
+    @Value("${git.diff-cache.spill-directory:}")
+    private String spillDirectory;
+
+    private final LinkedHashMap<String, CachedDiff> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long currentBytes;
+
+    public DiffCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public static String key(String repoName, AnyObjectId baseTree, AnyObjectId headTree) {
+        return repoName + ":" + baseTree.getName() + ":" + headTree.getName();
+    }
+
+    public DiffSummaryDto get(String key) {
+        synchronized (entries) {
+            CachedDiff cached = entries.get(key);
+            if (cached != null) {
+                return copy(cached.summary);
+            }
+        }
+        DiffSummaryDto spilled = readSpilled(key);
+        if (spilled != null) {
+            put(key, spilled);
+        }
+        return spilled;
+    }
+
+    public void put(String key, DiffSummaryDto summary) {
+        // Callers keep working on the summaries they pass in and get back, so the cache holds its own copy.
+        summary = copy(summary);
+        long weight = weigh(summary);
+        if (weight > maxBytes) {
+            writeSpilled(key, summary);
+            return;
+        }
+        List<Map.Entry<String, CachedDiff>> evicted = new ArrayList<>();
+        synchronized (entries) {
+            CachedDiff previous = entries.put(key, new CachedDiff(summary, weight));
+            if (previous != null) {
+                currentBytes -= previous.weight;
+            }
+            currentBytes += weight;
+            Iterator<Map.Entry<String, CachedDiff>> iterator = entries.entrySet().iterator();
+            while (currentBytes > maxBytes && iterator.hasNext()) {
+                Map.Entry<String, CachedDiff> eldest = iterator.next();
+                iterator.remove();
+                currentBytes -= eldest.getValue().weight;
+                evicted.add(eldest);
+            }
+        }
+        for (Map.Entry<String, CachedDiff> entry : evicted) {
+            writeSpilled(entry.getKey(), entry.getValue().summary);
+        }
+    }
+
+    private static DiffSummaryDto copy(DiffSummaryDto summary) {
+        List<ModifiedFileDto> modifiedFiles = new ArrayList<>(summary.getModifiedFiles().size());
+        for (ModifiedFileDto file : summary.getModifiedFiles()) {
+            modifiedFiles.add(new ModifiedFileDto(file.getFileName(), file.getChanges(), file.getFileUrl(),
+                    file.getOldObjectId(), file.getNewObjectId()));
+        }
+        return new DiffSummaryDto(modifiedFiles, new ArrayList<>(summary.getConflictFiles()), summary.getChangeCount());
+    }
+
+    private long weigh(DiffSummaryDto summary) {
+        long weight = 64;
+        for (ModifiedFileDto file : summary.getModifiedFiles()) {
+            weight += 2L * (length(file.getFileName()) + length(file.getChanges()) + length(file.getFileUrl())) + 48;
+        }
+        for (String conflictFile : summary.getConflictFiles()) {
+            weight += 2L * length(conflictFile) + 16;
+        }
+        return weight;
+    }
+
+    private int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    private DiffSummaryDto readSpilled(String key) {
+        File file = spillFile(key);
+        if (file == null || !file.isFile()) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(file, DiffSummaryDto.class);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Discarding unreadable spilled diff " + file + ": " + e.getMessage(), e);
+            file.delete();
+            return null;
+        }
+    }
+
+    private void writeSpilled(String key, DiffSummaryDto summary) {
+        File file = spillFile(key);
+        if (file == null || file.isFile()) {
+            return;
+        }
+        try {
+            Path directory = file.toPath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, "diff", ".tmp");
+            objectMapper.writeValue(temp.toFile(), summary);
+            Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to spill diff " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    private File spillFile(String key) {
+        if (spillDirectory == null || spillDirectory.isEmpty()) {
+            return null;
+        }
+        // Repository names may contain characters a file name cannot; hash the key so distinct keys never collide.
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return new File(spillDirectory, HexFormat.of().formatHex(digest) + ".json");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static class CachedDiff {
+
+        private final DiffSummaryDto summary;
+        private final long weight;
+
+        CachedDiff(DiffSummaryDto summary, long weight) {
+            this.summary = summary;
+            this.weight = weight;
+        }
+    }
+}
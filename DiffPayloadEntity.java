@@ -0,0 +1,54 @@
+package com.gitrepository.gitrepository.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+@Entity
+@Table(name = "diff_payload")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DiffPayloadEntity implements Persistable<String> {
+  @Id
+  @Column(length = 64)
+  private String payloadKey;
+
+  private String compression;
+  private int originalLength;
+
+  @Lob
+  private byte[] data;
+
+  @Transient
+  @Builder.Default
+  private boolean newPayload = true;
+
+  @Override
+  public String getId() {
+    return payloadKey;
+  }
+
+  @Override
+  public boolean isNew() {
+    return newPayload;
+  }
+
+  @PostLoad
+  @PostPersist
+  void markPersisted() {
+    this.newPayload = false;
+  }
+
+}
@@ -0,0 +1,18 @@
+package com.gitrepository.gitrepository.repository;
+
+import com.gitrepository.gitrepository.entity.DiffPayloadEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DiffPayloadRepository extends JpaRepository<DiffPayloadEntity, String> {
+
+  @Query("SELECT d.payloadKey FROM DiffPayloadEntity d WHERE d.payloadKey IN :payloadKeys")
+  List<String> findExistingKeys(@Param("payloadKeys") Collection<String> payloadKeys);
+
+}
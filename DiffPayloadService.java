@@ -0,0 +1,171 @@
+package com.gitrepository.gitrepository.service;
+
+import com.gitrepository.gitrepository.dto.ModifiedFileDto;
+import com.gitrepository.gitrepository.entity.DiffPayloadEntity;
+import com.gitrepository.gitrepository.repository.DiffPayloadRepository;
+import org.eclipse.jgit.lib.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+@Service
+public class DiffPayloadService {
+
+    private static final String KEY_VERSION = "v1";
+    private static final String COMPRESSION = "deflate";
+
+    @Autowired
+    private DiffPayloadRepository diffPayloadRepository;
+
+    private final TransactionTemplate insertTemplate;
+
+    public DiffPayloadService(PlatformTransactionManager transactionManager) {
+        this.insertTemplate = new TransactionTemplate(transactionManager);
+        this.insertTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public static String payloadKey(String oldObjectId, String newObjectId) {
+        String source = KEY_VERSION + ":" + blobOrZero(oldObjectId) + ":" + blobOrZero(newObjectId);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(source.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    // Payloads are content-addressed, so they are stored before (not inside) the pull request transaction;
+    // nesting a second transaction there would hold two pooled connections per request.
+    public List<String> storeAll(List<ModifiedFileDto> modifiedFiles) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Diff payloads must be stored outside of a transaction");
+        }
+        List<String> keys = new ArrayList<>(modifiedFiles.size());
+        Map<String, String> payloads = new LinkedHashMap<>();
+        for (ModifiedFileDto modifiedFile : modifiedFiles) {
+            if (DiffRenderer.isStub(modifiedFile.getChanges())) {
+                keys.add(null);
+                continue;
+            }
+            String key = payloadKey(modifiedFile.getOldObjectId(), modifiedFile.getNewObjectId());
+            keys.add(key);
+            payloads.putIfAbsent(key, modifiedFile.getChanges());
+        }
+        if (payloads.isEmpty()) {
+            return keys;
+        }
+
+        Set<String> existing = new HashSet<>(diffPayloadRepository.findExistingKeys(payloads.keySet()));
+        List<DiffPayloadEntity> missing = new ArrayList<>();
+        for (Map.Entry<String, String> payload : payloads.entrySet()) {
+            if (!existing.contains(payload.getKey())) {
+                missing.add(toEntity(payload.getKey(), payload.getValue()));
+            }
+        }
+        if (missing.isEmpty()) {
+            return keys;
+        }
+        try {
+            insertTemplate.executeWithoutResult(status -> diffPayloadRepository.saveAllAndFlush(missing));
+        } catch (DataIntegrityViolationException e) {
+            for (DiffPayloadEntity payload : missing) {
+                insertIfAbsent(payload.getPayloadKey(), payloads.get(payload.getPayloadKey()));
+            }
+        }
+        return keys;
+    }
+
+    private void insertIfAbsent(String payloadKey, String changes) {
+        try {
+            insertTemplate.executeWithoutResult(status -> {
+                if (!diffPayloadRepository.existsById(payloadKey)) {
+                    diffPayloadRepository.saveAndFlush(toEntity(payloadKey, changes));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            if (!diffPayloadRepository.existsById(payloadKey)) {
+                throw e;
+            }
+        }
+    }
+
+    public String load(String payloadKey) {
+        DiffPayloadEntity entity = diffPayloadRepository.findById(payloadKey)
+                .orElseThrow(() -> new IllegalArgumentException("Diff payload not found: " + payloadKey));
+        return new String(inflate(entity.getData(), entity.getOriginalLength()), StandardCharsets.UTF_8);
+    }
+
+    private DiffPayloadEntity toEntity(String payloadKey, String changes) {
+        byte[] raw = (changes == null ? "" : changes).getBytes(StandardCharsets.UTF_8);
+        DiffPayloadEntity entity = new DiffPayloadEntity();
+        entity.setPayloadKey(payloadKey);
+        entity.setCompression(COMPRESSION);
+        entity.setOriginalLength(raw.length);
+        entity.setData(deflate(raw));
+        return entity;
+    }
+
+    private static String blobOrZero(String objectId) {
+        return objectId == null ? ObjectId.zeroId().getName() : objectId;
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(buffer);
+                outputStream.write(buffer, 0, length);
+            }
+            return outputStream.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] compressed, int originalLength) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] raw = new byte[originalLength];
+            int offset = 0;
+            while (offset < originalLength && !inflater.finished()) {
+                int length = inflater.inflate(raw, offset, originalLength - offset);
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                offset += length;
+            }
+            if (offset != originalLength) {
+                throw new IllegalStateException("Corrupt diff payload, expected " + originalLength + " bytes");
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt diff payload: " + e.getMessage(), e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.gitrepository.gitrepository.service;
+
+import com.gitrepository.gitrepository.dto.ModifiedFileDto;
+import jakarta.annotation.PreDestroy;
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.diff.DiffFormatter;
+import org.eclipse.jgit.diff.RawText;
+import org.eclipse.jgit.lib.AbbreviatedObjectId;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.util.io.DisabledOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class DiffRenderer {
+
+    static final String TOO_LARGE_STUB = "File too large to display";
+    static final String BINARY_STUB = "Binary file not shown";
+
+    private static final int BINARY_PROBE_SIZE = 8000;
+    private static final int MIN_ENTRIES_PER_TASK = 16;
+
+    private final ThreadPoolExecutor executor;
+    private final int threads;
+
+    @Value("${git.diff.rename-score:60}")
+    private int renameScore;
+
+    @Value("${git.diff.max-file-bytes:1048576}")
+    private long maxFileBytes;
+
+    public DiffRenderer(@Value("${git.diff.threads:0}") int configuredThreads,
+                        @Value("${git.diff.queue-capacity:256}") int queueCapacity) {
+        this.threads = configuredThreads > 0 ? configuredThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "diff-renderer-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    static boolean isStub(String changes) {
+        return TOO_LARGE_STUB.equals(changes) || BINARY_STUB.equals(changes);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public List<DiffEntry> scan(Repository repository, ObjectId oldTree, ObjectId newTree) throws IOException {
+        try (DiffFormatter diffFormatter = new DiffFormatter(DisabledOutputStream.INSTANCE)) {
+            diffFormatter.setRepository(repository);
+            diffFormatter.setDetectRenames(true);
+            diffFormatter.getRenameDetector().setRenameScore(renameScore);
+            return diffFormatter.scan(oldTree, newTree);
+        }
+    }
+
+    public List<ModifiedFileDto> render(Repository repository, List<DiffEntry> diffs, String repoName) throws IOException {
+        int chunkSize = Math.max(MIN_ENTRIES_PER_TASK, (diffs.size() + threads - 1) / threads);
+        List<Future<List<ModifiedFileDto>>> futures = new ArrayList<>();
+        for (int start = 0; start < diffs.size(); start += chunkSize) {
+            List<DiffEntry> chunk = diffs.subList(start, Math.min(diffs.size(), start + chunkSize));
+            futures.add(executor.submit(() -> renderChunk(repository, chunk, repoName)));
+        }
+
+        List<ModifiedFileDto> modifiedFileDtos = new ArrayList<>(diffs.size());
+        try {
+            for (Future<List<ModifiedFileDto>> future : futures) {
+                modifiedFileDtos.addAll(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new IOException("Interrupted while formatting diffs", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("Failed to format diffs: " + cause.getMessage(), cause);
+        }
+        return modifiedFileDtos;
+    }
+
+    private List<ModifiedFileDto> renderChunk(Repository repository, List<DiffEntry> diffs,
+                                              String repoName) throws IOException {
+        List<ModifiedFileDto> modifiedFileDtos = new ArrayList<>(diffs.size());
+        try (ObjectReader reader = repository.newObjectReader();
+             ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+             DiffFormatter diffFormatter = new DiffFormatter(outputStream)) {
+            diffFormatter.setReader(reader, repository.getConfig());
+            for (DiffEntry diff : diffs) {
+                String formattedChanges = stubFor(reader, diff);
+                if (formattedChanges == null) {
+                    diffFormatter.format(diff);
+                    String diffOutput = outputStream.toString(StandardCharsets.UTF_8);
+                    outputStream.reset();
+                    formattedChanges = formatDiffLines(diffOutput.split("\n"));
+                }
+
+                String fileName = diff.getNewPath();
+                String projectName = "project-GIT";
+                String fileUrl = String.format("C:/Users/com.codeshelf/%s/%s/src/main/java/%s", projectName, repoName, fileName);
+
+                modifiedFileDtos.add(ModifiedFileDto.builder()
+                        .fileName(fileName)
+                        .changes(formattedChanges)
+                        .fileUrl(fileUrl)
+                        .oldObjectId(diff.getOldId().name())
+                        .newObjectId(diff.getNewId().name())
+                        .build());
+            }
+        }
+        return modifiedFileDtos;
+    }
+
+    private String stubFor(ObjectReader reader, DiffEntry diff) throws IOException {
+        AbbreviatedObjectId[] sides = {diff.getOldId(), diff.getNewId()};
+        FileMode[] modes = {diff.getOldMode(), diff.getNewMode()};
+        for (int i = 0; i < sides.length; i++) {
+            AbbreviatedObjectId side = sides[i];
+            // Submodule entries point at commits of another repository; the formatter renders those itself.
+            if (FileMode.GITLINK.equals(modes[i])
+                    || side == null || !side.isComplete() || ObjectId.zeroId().equals(side.toObjectId())) {
+                continue;
+            }
+            ObjectId blobId = side.toObjectId();
+            if (reader.getObjectSize(blobId, Constants.OBJ_BLOB) > maxFileBytes) {
+                return TOO_LARGE_STUB;
+            }
+            byte[] head = new byte[BINARY_PROBE_SIZE];
+            int probed;
+            try (InputStream inputStream = reader.open(blobId, Constants.OBJ_BLOB).openStream()) {
+                probed = inputStream.readNBytes(head, 0, head.length);
+            }
+            if (RawText.isBinary(head, probed)) {
+                return BINARY_STUB;
+            }
+        }
+        return null;
+    }
+
+    String formatDiffLines(String[] diffLines) {
+        StringBuilder changes = new StringBuilder();
+
+        for (String line : diffLines) {
+            if (line.startsWith("+") && !line.startsWith("+++")) {
+                changes.append("    ++ ").append(line, 1, line.length()).append("\n");
+            } else if (line.startsWith("-") && !line.startsWith("---")) {
+                changes.append("    -- ").append(line, 1, line.length()).append("\n");
+            }
+        }
+        return changes.toString().trim();
+    }
+}
@@ -0,0 +1,17 @@
+package com.gitrepository.gitrepository.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DiffSummaryDto {
+  private List<ModifiedFileDto> modifiedFiles = new ArrayList<>();
+  private List<String> conflictFiles = new ArrayList<>();
+  private int changeCount;
+}
@@ -1,18 +1,28 @@
 package com.gitrepository.gitrepository.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.gitrepository.gitrepository.dto.BlobInfoDto;
+import com.gitrepository.gitrepository.dto.ChangesetResultDto;
 import com.gitrepository.gitrepository.dto.CommitDto;
 import com.gitrepository.gitrepository.dto.ConsolidatedStatusDto;
+import com.gitrepository.gitrepository.dto.CreateRepositoryDto;
 import com.gitrepository.gitrepository.dto.FileDto;
 import com.gitrepository.gitrepository.dto.FileStructureResponse;
+import com.gitrepository.gitrepository.dto.MaintenanceReportDto;
 import com.gitrepository.gitrepository.dto.MergePullRequestDto;
 import com.gitrepository.gitrepository.dto.ModifiedFileDto;
+import com.gitrepository.gitrepository.dto.PullRequestAnalysisStatusDto;
 import com.gitrepository.gitrepository.dto.PullRequestDto;
 import com.gitrepository.gitrepository.dto.PullRequestUrlDto;
+import com.gitrepository.gitrepository.dto.TreeEntryDto;
 import com.gitrepository.gitrepository.entity.PullRequestEntity;
+import com.gitrepository.gitrepository.exception.BranchMovedException;
 import com.gitrepository.gitrepository.service.GitService;
 import com.gitrepository.gitrepository.service.PullRequestService;
+import com.gitrepository.gitrepository.service.RepositoryMaintenanceScheduler;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.errors.GitAPIException;
 import org.eclipse.jgit.api.errors.RefNotFoundException;
@@ -21,35 +31,62 @@ import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
 import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 @RestController
 @RequestMapping("/git")
 public class GitController {
 
+    private static final Logger LOGGER = Logger.getLogger(GitController.class.getName());
+
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+
     @Autowired
     private GitService gitService;
 
+    @Autowired
+    private RepositoryMaintenanceScheduler repositoryMaintenanceScheduler;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Value("${git.base.directory}")
     private String baseDirectory;
 
+    @Value("${git.file-content.max-inline-size:10485760}")
+    private long maxInlineFileSize;
+
     @PostMapping("/create")
     public String createRepository(@RequestParam String repoName,
                                    @RequestParam(required = false, defaultValue = "")
                                    String description) {
         try {
-            System.out.println("This request have reached to repository");
+            LOGGER.fine("This request have reached to repository");
             gitService.createRepository(repoName, description);
             return "Repository created: " + repoName;
         } catch (Exception e) {
@@ -57,31 +94,120 @@ public class GitController {
         }
     }
 
+    @PostMapping("/create/batch")
+    public ResponseEntity<Object> createRepositories(@RequestBody List<CreateRepositoryDto> repositories) {
+        try {
+            return ResponseEntity.ok(gitService.createRepositories(repositories));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Error creating repositories: " + e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Collections.singletonMap("error", "Error creating repositories: " + e.getMessage()));
+        }
+    }
+
     @PostMapping("/add")
     public ResponseEntity<ConsolidatedStatusDto> CreateAndAddFile(@RequestParam String repoName,
                                                                   @RequestParam String branchName,
                                                                   @RequestParam(required = false) String fileName,
                                                                   @RequestParam(required = false) String fileContent,
                                                                   @RequestParam(required = false) List<MultipartFile> files,
-                                                                  @RequestParam String commitMessage) {
+                                                                  @RequestParam String commitMessage,
+                                                                  @RequestParam(required = false, defaultValue = "false") boolean extract) {
         try {
-            ConsolidatedStatusDto statusDto = gitService.addFile(repoName, branchName, fileName, fileContent, files, commitMessage);
+            ConsolidatedStatusDto statusDto = gitService.addFile(repoName, branchName, fileName, fileContent, files,
+                    commitMessage, extract);
             return ResponseEntity.ok(statusDto);
         } catch (Exception e) {
             throw new RuntimeException("Error adding file: " + e.getMessage());
         }
     }
 
+    @PostMapping(value = "/commits", consumes = {MediaType.APPLICATION_JSON_VALUE, NDJSON_VALUE})
+    public ResponseEntity<Object> commitChangeset(@RequestParam String repoName,
+                                                  @RequestParam String branchName,
+                                                  @RequestParam(required = false) String expectedParent,
+                                                  @RequestParam String commitMessage,
+                                                  InputStream body) {
+        try {
+            ChangesetResultDto result = gitService.commitChangeset(repoName, branchName, expectedParent,
+                    commitMessage, body);
+            return ResponseEntity.status(HttpStatus.CREATED).body(result);
+        } catch (BranchMovedException e) {
+            Map<String, Object> conflict = new HashMap<>();
+            conflict.put("error", e.getMessage());
+            conflict.put("branchName", e.getBranchName());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(conflict);
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Error committing changeset: " + e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Collections.singletonMap("error", "Error committing changeset: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping(value = "/upload", consumes = MediaType.ALL_VALUE)
+    public ResponseEntity<Object> uploadFile(@RequestParam String repoName,
+                                             @RequestParam String branchName,
+                                             @RequestParam String fileName,
+                                             @RequestParam String commitMessage,
+                                             @RequestParam(required = false, defaultValue = "false") boolean extract,
+                                             @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, required = false,
+                                                     defaultValue = "-1") long contentLength,
+                                             InputStream body) {
+        try {
+            return ResponseEntity.ok(gitService.uploadFile(repoName, branchName, fileName, contentLength, body,
+                    commitMessage, extract));
+        } catch (BranchMovedException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Collections.singletonMap("error", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Error uploading file: " + e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Collections.singletonMap("error", "Error uploading file: " + e.getMessage()));
+        }
+    }
+
     @GetMapping("/commit/log")
     public List<CommitDto> commitLog(@RequestParam String repoName,
-                                     @RequestParam String branchName) {
+                                     @RequestParam String branchName,
+                                     @RequestParam(required = false)
+                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date since,
+                                     @RequestParam(required = false, defaultValue = "0") int limit,
+                                     @RequestParam(required = false) String after) {
         try {
-            return gitService.commitLog(repoName, branchName);
+            return gitService.commitLog(repoName, branchName, since, limit, after);
         } catch (IOException | GitAPIException e) {
             throw new RuntimeException("Error Fetching Commit_ID : " + e.getMessage());
         }
     }
 
+    @GetMapping(value = "/commit/log/stream", produces = NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCommitLog(@RequestParam String repoName,
+                                                                 @RequestParam String branchName,
+                                                                 @RequestParam(required = false)
+                                                                 @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date since,
+                                                                 @RequestParam(required = false, defaultValue = "0") int limit,
+                                                                 @RequestParam(required = false) String after) {
+        ObjectWriter commitWriter = objectMapper.writerFor(CommitDto.class);
+        StreamingResponseBody body = outputStream -> {
+            try {
+                gitService.streamCommitLog(repoName, branchName, since, limit, after, commit -> {
+                    outputStream.write(commitWriter.writeValueAsBytes(commit));
+                    outputStream.write('\n');
+                });
+            } catch (GitAPIException e) {
+                throw new IOException("Error Fetching Commit_ID : " + e.getMessage(), e);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_VALUE))
+                .body(body);
+    }
+
     @PostMapping("/pull")
     public String pullChanges(@RequestParam String repoName, @RequestParam String branch) {
         try {
@@ -104,7 +230,7 @@ public class GitController {
 
     @GetMapping("/url")
     public String getRepositoryUrl(@RequestParam String repoName) {
-        System.out.println("This request have reached to repository");
+        LOGGER.fine("This request have reached to repository");
 
         return gitService.getRepositoryUrl(repoName);
     }
@@ -118,9 +244,58 @@ public class GitController {
         }
     }
 
+    @GetMapping("/tree")
+    public List<TreeEntryDto> listTree(@RequestParam String repoName,
+                                       @RequestParam String branchName,
+                                       @RequestParam(required = false, defaultValue = "") String path) {
+        try {
+            return gitService.listTree(repoName, branchName, path);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading repository: " + e.getMessage(), e);
+        }
+    }
+
+    @GetMapping("/blob")
+    public ResponseEntity<StreamingResponseBody> getBlob(@RequestParam String repoName,
+                                                         @RequestParam(required = false) String objectId,
+                                                         @RequestParam(required = false) String branchName,
+                                                         @RequestParam(required = false) String path,
+                                                         @RequestHeader(value = HttpHeaders.RANGE, required = false)
+                                                         String rangeHeader,
+                                                         WebRequest webRequest) {
+        BlobInfoDto blob;
+        try {
+            blob = gitService.describeBlob(repoName, branchName, path, objectId);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error reading repository.", e);
+        }
+
+        String eTag = "\"" + blob.getObjectId() + "\"";
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        MediaType contentType = blob.isBinary()
+                ? MediaType.APPLICATION_OCTET_STREAM
+                : new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+        return rangedResponse(blob.getSize(), rangeHeader, contentType, eTag, null,
+                (outputStream, offset, length) ->
+                        gitService.streamBlob(repoName, blob.getObjectId(), offset, length, outputStream));
+    }
+
     @GetMapping("/branches")
-    public List<String> listBranches(@RequestParam String repoName) {
+    public Object listBranches(@RequestParam String repoName,
+                               @RequestParam(required = false, defaultValue = "false") boolean details,
+                               @RequestParam(required = false) String prefix,
+                               @RequestParam(required = false) Integer limit,
+                               @RequestParam(required = false) String cursor) {
         try {
+            if (details || prefix != null || limit != null || cursor != null) {
+                return gitService.listBranchDetails(repoName, prefix, limit == null ? 100 : limit, cursor);
+            }
             return gitService.listBranches(repoName);
         } catch (Exception e) {
             return Collections.singletonList(e.getMessage() == null ? String.valueOf(e) : e.getMessage());
@@ -128,12 +303,22 @@ public class GitController {
     }
 
     @GetMapping("/allRepository")
-    public List<String> getRepositoryName() {
+    public Object getRepositoryName(@RequestParam(required = false) String prefix,
+                                    @RequestParam(required = false) Integer page,
+                                    @RequestParam(required = false) Integer size,
+                                    @RequestParam(required = false) String sort,
+                                    @RequestParam(required = false) String direction) {
         try {
-            System.out.println("This request for List of Repository in Project");
-            return gitService.getRepositoryNames();
+            LOGGER.fine("This request for List of Repository in Project");
+            if (prefix == null && page == null && size == null && sort == null && direction == null) {
+                return gitService.getRepositoryNames();
+            }
+            return gitService.getRepositoryCatalog(prefix, page == null ? 0 : page, size == null ? 50 : size,
+                    sort, direction);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
         } catch (Exception e) {
-            e.printStackTrace();
+            LOGGER.log(Level.SEVERE, "Failed to list repositories: " + e.getMessage(), e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error", e);
         }
     }
@@ -145,8 +330,41 @@ public class GitController {
     }
 
     @GetMapping("/file-content")
-    public String getFileContent(@RequestParam(value = "path") String path) {
-        return gitService.getFileContent(path);
+    public ResponseEntity<StreamingResponseBody> getFileContent(@RequestParam(value = "path") String path,
+                                                                @RequestHeader(value = HttpHeaders.RANGE, required = false)
+                                                                String rangeHeader,
+                                                                WebRequest webRequest) {
+        File file;
+        boolean binary;
+        try {
+            file = gitService.resolveContentFile(path);
+            binary = gitService.isBinaryFile(file);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to read file content.", e);
+        }
+
+        long size = file.length();
+        long lastModified = file.lastModified();
+        String eTag = "W/\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"";
+        if (webRequest.checkNotModified(eTag, lastModified)) {
+            return null;
+        }
+
+        MediaType contentType = binary
+                ? MediaType.APPLICATION_OCTET_STREAM
+                : new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+        ResponseEntity<StreamingResponseBody> response = rangedResponse(size, rangeHeader, contentType, eTag, lastModified,
+                (outputStream, offset, length) -> gitService.transferFileContent(file, offset, length, outputStream));
+        if (rangeHeader == null && size > maxInlineFileSize && response.getStatusCode() == HttpStatus.OK) {
+            return ResponseEntity.status(response.getStatusCode())
+                    .headers(response.getHeaders())
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            ContentDisposition.attachment().filename(file.getName()).build().toString())
+                    .body(response.getBody());
+        }
+        return response;
     }
 
     @PostMapping("/checkoutBranch")
@@ -160,31 +378,66 @@ public class GitController {
                                                     @RequestParam String title,
                                                     @RequestParam (required = false) String description,
                                                     @RequestParam String sourceBranch,
-                                                    @RequestParam String targetBranch) {
+                                                    @RequestParam String targetBranch,
+                                                    @RequestParam(required = false, defaultValue = "false") boolean async) {
         try {
+            if (async) {
+                PullRequestAnalysisStatusDto job = gitService.submitPullRequest(repoName, title, description, sourceBranch, targetBranch);
+                return ResponseEntity.accepted()
+                        .location(URI.create("/git/pullRequest/" + job.getId() + "/status"))
+                        .body(objectMapper.writeValueAsString(job));
+            }
             String response = gitService.createPullRequest(repoName, title, description, sourceBranch, targetBranch);
             return ResponseEntity.ok(response);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
         } catch (IOException | GitAPIException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Error creating pull request: " + e.getMessage());
         }
     }
 
+    @GetMapping("/pullRequest/{id}/status")
+    public ResponseEntity<PullRequestAnalysisStatusDto> getPullRequestStatus(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(gitService.getPullRequestAnalysisStatus(id));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     @GetMapping("/pullRequest/urls")
-    public Map<String, Object> getAllPullRequestUrls() {
+    public Map<String, Object> getAllPullRequestUrls(@RequestParam(required = false) String repoName,
+                                                     @RequestParam(required = false) String status,
+                                                     @RequestParam(required = false, defaultValue = "50") int limit,
+                                                     @RequestParam(required = false) String cursor) {
         try {
-            return gitService.getAllPullRequestUrls();
+            return gitService.getAllPullRequestUrls(repoName, status, limit, cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
         } catch (Exception e) {
-            e.printStackTrace();
+            LOGGER.log(Level.SEVERE, "Failed to retrieve pull request URLs: " + e.getMessage(), e);
             throw new RuntimeException("Failed to retrieve pull request URLs");
         }
     }
 
+    @GetMapping("/pullRequest/files/{fileId}/changes")
+    public ResponseEntity<String> getModifiedFileChanges(@PathVariable Long fileId) {
+        try {
+            return ResponseEntity.ok(gitService.getModifiedFileChanges(fileId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
     @PostMapping("/merge")
     public ResponseEntity<String> mergePullRequest(@RequestParam Long id) {
         try {
             String result = gitService.mergePullRequest(id);
             return ResponseEntity.ok(result);
+        } catch (IllegalStateException e) {
+            // BranchMovedException, or the pull request is still being analyzed
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         } catch (GitAPIException e) {
@@ -194,6 +447,16 @@ public class GitController {
         }
     }
 
+    @PostMapping("/maintenance/run")
+    public MaintenanceReportDto runMaintenance(@RequestParam String repoName) {
+        return repositoryMaintenanceScheduler.maintain(repoName);
+    }
+
+    @GetMapping("/maintenance/reports")
+    public List<MaintenanceReportDto> getMaintenanceReports() {
+        return repositoryMaintenanceScheduler.getReports();
+    }
+
     @GetMapping("/fileChanges")
     public ResponseEntity<Map<String, ModifiedFileDto>> getFileChanged(@RequestParam("repoName") String repoName,
                                                                        @RequestParam("sourceBranch") String sourceBranch,
@@ -207,7 +470,7 @@ public class GitController {
             }
             return ResponseEntity.ok(response);
         } catch (IOException | GitAPIException e) {
-            e.printStackTrace();
+            LOGGER.log(Level.SEVERE, "Failed to compute file changes: " + e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
@@ -242,4 +505,51 @@ public class GitController {
                     .body("Failed to resolve merge conflicts: " + e.getMessage());
         }
     }
+
+    private ResponseEntity<StreamingResponseBody> rangedResponse(long size, String rangeHeader, MediaType contentType,
+                                                                 String eTag, Long lastModified, RangeWriter writer) {
+        long offset = 0;
+        long length = size;
+        HttpStatus status = HttpStatus.OK;
+        if (rangeHeader != null && size > 0) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                ranges = Collections.emptyList();
+            }
+            if (ranges.size() == 1) {
+                HttpRange range = ranges.get(0);
+                try {
+                    offset = range.getRangeStart(size);
+                    length = range.getRangeEnd(size) - offset + 1;
+                    status = HttpStatus.PARTIAL_CONTENT;
+                } catch (IllegalArgumentException e) {
+                    return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                            .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size)
+                            .build();
+                }
+            }
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(status)
+                .contentType(contentType)
+                .contentLength(length)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .eTag(eTag);
+        if (lastModified != null) {
+            builder.lastModified(lastModified);
+        }
+        if (status == HttpStatus.PARTIAL_CONTENT) {
+            builder.header(HttpHeaders.CONTENT_RANGE, "bytes " + offset + "-" + (offset + length - 1) + "/" + size);
+        }
+        long start = offset;
+        long count = length;
+        return builder.body(outputStream -> writer.write(outputStream, start, count));
+    }
+
+    @FunctionalInterface
+    private interface RangeWriter {
+        void write(OutputStream outputStream, long offset, long length) throws IOException;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,171 @@
+package com.gitrepository.gitrepository.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.eclipse.jgit.storage.file.WindowCacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class GitMetrics {
+
+    static final String OTHER_REPO = "other";
+
+    private final MeterRegistry meterRegistry;
+    private final Set<String> repoTags = ConcurrentHashMap.newKeySet();
+
+    @Value("${git.base.directory}")
+    private String baseDirectory;
+
+    @Value("${git.metrics.max-repo-tags:100}")
+    private int maxRepoTags;
+
+    public GitMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        registerWindowCacheMeters();
+    }
+
+    public Operation operation(String name, String repoName) {
+        return new Operation(name, repoTag(repoName));
+    }
+
+    public void recordDiff(String repoName, int fileCount, long changeBytes) {
+        String repo = repoTag(repoName);
+        DistributionSummary.builder("git.diff.files")
+                .tag("repo", repo)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(fileCount);
+        DistributionSummary.builder("git.diff.bytes")
+                .baseUnit("bytes")
+                .tag("repo", repo)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(changeBytes);
+    }
+
+    public void recordTempDirectory(String repoName, long bytes) {
+        DistributionSummary.builder("git.tempdir.bytes")
+                .baseUnit("bytes")
+                .tag("repo", repoTag(repoName))
+                .register(meterRegistry)
+                .record(bytes);
+    }
+
+    public void recordMaintenance(String repoName, long durationNanos, long bytesBefore, long bytesAfter,
+                                  boolean succeeded) {
+        String repo = repoTag(repoName);
+        Timer.builder("git.maintenance.duration")
+                .tag("repo", repo)
+                .tag("outcome", succeeded ? "success" : "error")
+                .register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+        if (succeeded) {
+            DistributionSummary.builder("git.maintenance.reclaimed.bytes")
+                    .baseUnit("bytes")
+                    .tag("repo", repo)
+                    .register(meterRegistry)
+                    .record(Math.max(0, bytesBefore - bytesAfter));
+        }
+    }
+
+    String repoTag(String repoName) {
+        if (repoName == null || repoName.isEmpty()) {
+            return OTHER_REPO;
+        }
+        String name = new File(repoName).getName();
+        if (name.endsWith(".git")) {
+            name = name.substring(0, name.length() - ".git".length());
+        }
+        if (repoTags.contains(name)) {
+            return name;
+        }
+        // Only repositories that exist on disk may claim one of the limited tag values.
+        if (repoTags.size() < maxRepoTags && new File(baseDirectory, name + ".git").isDirectory()
+                && repoTags.add(name)) {
+            return name;
+        }
+        return OTHER_REPO;
+    }
+
+    private void registerWindowCacheMeters() {
+        Gauge.builder("git.jgit.window_cache.hit_ratio", () -> WindowCacheStats.getStats().getHitRatio())
+                .register(meterRegistry);
+        Gauge.builder("git.jgit.window_cache.open_bytes", () -> WindowCacheStats.getStats().getOpenByteCount())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("git.jgit.window_cache.open_files", () -> WindowCacheStats.getStats().getOpenFileCount())
+                .register(meterRegistry);
+        FunctionCounter.builder("git.jgit.window_cache.requests", this, metrics -> WindowCacheStats.getStats().getHitCount())
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("git.jgit.window_cache.requests", this, metrics -> WindowCacheStats.getStats().getMissCount())
+                .tag("result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("git.jgit.window_cache.evictions", this, metrics -> WindowCacheStats.getStats().getEvictionCount())
+                .register(meterRegistry);
+    }
+
+    public final class Operation implements AutoCloseable {
+
+        private final String name;
+        private final String repo;
+        private final long start = System.nanoTime();
+        private boolean succeeded;
+
+        private Operation(String name, String repo) {
+            this.name = name;
+            this.repo = repo;
+        }
+
+        public Phase phase(String phase) {
+            return new Phase(this, phase);
+        }
+
+        public void succeeded() {
+            this.succeeded = true;
+        }
+
+        @Override
+        public void close() {
+            Timer.builder("git.operation")
+                    .tag("operation", name)
+                    .tag("repo", repo)
+                    .tag("outcome", succeeded ? "success" : "error")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public final class Phase implements AutoCloseable {
+
+        private final Operation operation;
+        private final String phase;
+        private final long start = System.nanoTime();
+
+        private Phase(Operation operation, String phase) {
+            this.operation = operation;
+            this.phase = phase;
+        }
+
+        @Override
+        public void close() {
+            Timer.builder("git.operation.phase")
+                    .tag("operation", operation.name)
+                    .tag("phase", phase)
+                    .tag("repo", operation.repo)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -3,10 +3,14 @@ package com.gitrepository.gitrepository.service;
 import com.gitrepository.gitrepository.config.DateTimeUtils;
 import com.gitrepository.gitrepository.dto.*;
 import com.gitrepository.gitrepository.entity.ModifiedFileEntity;
+import com.gitrepository.gitrepository.event.RefEventPublisher;
+import com.gitrepository.gitrepository.exception.BranchMovedException;
+import com.gitrepository.gitrepository.lock.RepoLock;
+import com.gitrepository.gitrepository.lock.RepoLockManager;
 import com.gitrepository.gitrepository.entity.PullRequestEntity;
+import com.gitrepository.gitrepository.repository.ModifiedFileRepository;
 import com.gitrepository.gitrepository.repository.PullRequestRepository;
 import com.gitrepository.gitrepository.validation.ApiValidation;
-import org.eclipse.jgit.api.errors.CheckoutConflictException;
 import org.eclipse.jgit.diff.EditList;
 import org.eclipse.jgit.diff.RawText;
 import org.eclipse.jgit.diff.RawTextComparator;
@@ -19,14 +23,16 @@ import org.eclipse.jgit.api.MergeResult;
 import org.eclipse.jgit.api.Status;
 import org.eclipse.jgit.api.errors.GitAPIException;
 import org.eclipse.jgit.diff.DiffEntry;
-import org.eclipse.jgit.diff.DiffFormatter;
 import org.eclipse.jgit.diff.Edit;
 import org.eclipse.jgit.errors.IncorrectObjectTypeException;
 import org.eclipse.jgit.errors.MissingObjectException;
 import org.eclipse.jgit.lib.*;
+import org.eclipse.jgit.merge.MergeStrategy;
+import org.eclipse.jgit.merge.ResolveMerger;
 import org.eclipse.jgit.revwalk.RevCommit;
 import org.eclipse.jgit.revwalk.RevTree;
 import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.revwalk.filter.CommitTimeRevFilter;
 import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
 import org.eclipse.jgit.transport.RefSpec;
 import org.eclipse.jgit.transport.RemoteRefUpdate;
@@ -35,35 +41,46 @@ import org.eclipse.jgit.treewalk.AbstractTreeIterator;
 import org.eclipse.jgit.treewalk.CanonicalTreeParser;
 import org.eclipse.jgit.treewalk.TreeWalk;
 import org.eclipse.jgit.treewalk.filter.PathFilter;
-import org.eclipse.jgit.util.io.DisabledOutputStream;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.modelmapper.ModelMapper;
-import org.redisson.api.RLock;
-import org.redisson.api.RedissonClient;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.*;
 import java.io.ByteArrayOutputStream;
 import java.net.URISyntaxException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.sql.Timestamp;
 import java.time.Duration;
 import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -73,10 +90,26 @@ public class GitService {
 
     private static final Logger LOGGER = Logger.getLogger(GitService.class.getName());
 
+    static final String ANALYSIS_PENDING = "PENDING";
+    static final String ANALYSIS_RUNNING = "RUNNING";
+    static final String ANALYSIS_COMPLETED = "COMPLETED";
+    static final String ANALYSIS_FAILED = "FAILED";
+
+    private static final int BINARY_PROBE_SIZE = 8000;
+
+    private static final int DEFAULT_PULL_REQUEST_PAGE_SIZE = 50;
+
+    private static final int MAX_PULL_REQUEST_PAGE_SIZE = 500;
+
+    private static final int MAX_BRANCH_PAGE_SIZE = 500;
+
     @Value("${git.base.directory}")
     private String baseDirectory;
 
-    private final RedissonClient redissonClient;
+    @Value("${git.provisioning.max-batch:500}")
+    private int maxProvisioningBatch;
+
+    private final RepoLockManager repoLockManager;
 
     @Autowired
     public ApiValidation apiValidation;
@@ -84,178 +117,271 @@ public class GitService {
     @Autowired
     private PullRequestRepository pullRequestRepository;
 
+    @Autowired
+    private ModifiedFileRepository modifiedFileRepository;
+
+    @Autowired
+    private DiffPayloadService diffPayloadService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PullRequestAnalysisExecutor pullRequestAnalysisExecutor;
+
+    @Autowired
+    private GitMetrics gitMetrics;
+
+    @Autowired
+    private RefEventPublisher refEventPublisher;
+
+    @Autowired
+    private ArchiveIngester archiveIngester;
+
+    @Autowired
+    private InCoreCommitter inCoreCommitter;
+
+    @Autowired
+    private ChangesetReader changesetReader;
+
+    @Autowired
+    private RepositoryProvisioningExecutor repositoryProvisioningExecutor;
+
+    @Autowired
+    private RepositoryCatalog repositoryCatalog;
+
+    @Autowired
+    private BranchSummaryCache branchSummaryCache;
+
+    @Autowired
+    private ConflictAnalyzer conflictAnalyzer;
+
+    @Autowired
+    private RepositoryHandleCache repositoryHandleCache;
+
+    @Autowired
+    private CommitGraphIndex commitGraphIndex;
+
+    @Autowired
+    private DiffCache diffCache;
+
+    @Autowired
+    private DiffRenderer diffRenderer;
+
     private final ModelMapper mapper = new ModelMapper();
 
-    public GitService(RedissonClient redissonClient) {
-        this.redissonClient = redissonClient;
+    public GitService(RepoLockManager repoLockManager) {
+        this.repoLockManager = repoLockManager;
     }
 
     public void createRepository(String repoName, String description) throws Exception {
-        String lockName = "lock:repo:" + repoName;
-        RLock lock = redissonClient.getLock(lockName);
-        lock.lock(30, TimeUnit.SECONDS);
-        try {
-            File baseDir = new File(baseDirectory + "/" + repoName + ".git");
-            apiValidation.CreateRepoValid(repoName, baseDir);
-            String bareRepoPath = baseDirectory + "/" + repoName + ".git";
-            Repository bareRepo = FileRepositoryBuilder.create(new File(bareRepoPath));
-            bareRepo.create(true);
-            Path tempRepoPath = Files.createTempDirectory(new File(baseDirectory).toPath(), repoName + "-temp-");
-            Path readmeFilePath = tempRepoPath.resolve("README.md");
-            Files.writeString(readmeFilePath, "# " + repoName + "\n\n" + description + "\n\n");
-            try (Git git = Git.init().setDirectory(tempRepoPath.toFile()).call()) {
-                git.add().addFilepattern("README.md").call();
-                git.commit().setMessage("Initial commit").call();
-                git.push().setRemote(bareRepoPath).call();
+        try (GitMetrics.Operation operation = gitMetrics.operation("createRepository", repoName);
+             RepoLock lock = repoLockManager.writeLock(repoName)) {
+            File bareRepoDir = new File(baseDirectory, repoName + ".git");
+            apiValidation.CreateRepoValid(repoName, bareRepoDir);
+            try {
+                provisionRepository(bareRepoDir, repoName, description);
+            } catch (Exception e) {
+                repositoryHandleCache.invalidate(repoName);
+                deleteDirectory(bareRepoDir);
+                throw e;
             }
-            deleteDirectory(tempRepoPath.toFile());
+            operation.succeeded();
         } catch (Exception e) {
             throw new Exception(e);
-        } finally {
-            lock.unlock();
         }
     }
 
-    public ConsolidatedStatusDto addFile(String repoName, String branchName, String fileName,
-                                         String fileContent, List<MultipartFile> files,
-                                         String commitMessage) throws Exception {
-        String lockName = "lock:files:" + repoName;
-        RLock lock = redissonClient.getLock(lockName);
+    public List<RepositoryProvisionResultDto> createRepositories(List<CreateRepositoryDto> requests) throws IOException {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("No repositories to create.");
+        }
+        if (requests.size() > maxProvisioningBatch) {
+            throw new IllegalArgumentException("Batch exceeds " + maxProvisioningBatch + " repositories.");
+        }
+        List<Future<RepositoryProvisionResultDto>> futures = new ArrayList<>(requests.size());
+        for (CreateRepositoryDto request : requests) {
+            futures.add(repositoryProvisioningExecutor.submit(() -> provisionResult(request)));
+        }
 
-        boolean lockAcquired = false;
-        File tempRepoDir = null;
-        ConsolidatedStatus consolidatedStatus = new ConsolidatedStatus();
+        List<RepositoryProvisionResultDto> results = new ArrayList<>(requests.size());
         try {
-            lockAcquired = lock.tryLock(30, TimeUnit.SECONDS);
-            if (!lockAcquired) {
-                throw new IllegalStateException("Could not acquire the lock");
-            }
-
-            File bareRepoDir = new File(baseDirectory, repoName.endsWith(".git") ? repoName : repoName + ".git");
-            if (!bareRepoDir.exists() || !bareRepoDir.isDirectory()) {
-                throw new IllegalStateException("Repository directory does not exist: " + bareRepoDir.getAbsolutePath());
+            for (Future<RepositoryProvisionResultDto> future : futures) {
+                results.add(future.get());
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new IOException("Interrupted while creating repositories", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to create repositories: " + e.getCause().getMessage(), e.getCause());
+        }
+        return results;
+    }
 
-            tempRepoDir = Files.createTempDirectory("gitrepo_temp").toFile();
-            LOGGER.info("Temporary directory created: " + tempRepoDir.getAbsolutePath());
-
-            try (Git git = Git.cloneRepository()
-                    .setURI(bareRepoDir.toURI().toString())
-                    .setDirectory(tempRepoDir)
-                    .call()) {
-
-                LOGGER.info("Repository cloned to temporary directory");
-
-                boolean stashNeeded = git.status().call().hasUncommittedChanges();
+    private RepositoryProvisionResultDto provisionResult(CreateRepositoryDto request) {
+        long started = System.nanoTime();
+        RepositoryProvisionResultDto result = RepositoryProvisionResultDto.builder()
+                .repoName(request.getRepoName())
+                .build();
+        try {
+            createRepository(request.getRepoName(), request.getDescription() == null ? "" : request.getDescription());
+            result.setCreated(true);
+        } catch (Exception e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            result.setError(cause.getMessage() == null ? String.valueOf(cause) : cause.getMessage());
+        }
+        result.setDurationMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return result;
+    }
 
-                RevCommit stashCommit = null;
-                if (stashNeeded) {
-                    stashCommit = git.stashCreate().call();
-                    LOGGER.info("Created stash with ID: " + stashCommit.getName());
-                }
+    private void provisionRepository(File bareRepoDir, String repoName, String description) throws IOException {
+        try (Repository bareRepo = FileRepositoryBuilder.create(bareRepoDir)) {
+            bareRepo.create(true);
+            String branchName = Repository.shortenRefName(bareRepo.getFullBranch());
+            byte[] readme = ("# " + repoName + "\n\n" + description + "\n\n").getBytes(StandardCharsets.UTF_8);
+
+            try (ObjectInserter inserter = bareRepo.newObjectInserter();
+                 RevWalk revWalk = new RevWalk(bareRepo)) {
+                TreeFormatter tree = new TreeFormatter();
+                tree.append("README.md", FileMode.REGULAR_FILE, inserter.insert(Constants.OBJ_BLOB, readme));
+                ObjectId treeId = inserter.insert(tree);
+                ObjectId commitId = inCoreCommitter.insertCommit(bareRepo, inserter, treeId, "Initial commit");
+                inCoreCommitter.updateBranch(bareRepo, revWalk, branchName, null, commitId,
+                        "commit (initial): Initial commit");
+            }
+        }
+    }
 
-                git.fetch().call();
+    public ConsolidatedStatusDto addFile(String repoName, String branchName, String fileName,
+                                         String fileContent, List<MultipartFile> files,
+                                         String commitMessage) throws Exception {
+        return addFile(repoName, branchName, fileName, fileContent, files, commitMessage, false);
+    }
 
-                List<Ref> branchList = git.branchList()
-                        .setListMode(ListBranchCommand.ListMode.REMOTE)
-                        .call();
-                boolean branchExists = branchList.stream()
-                        .anyMatch(ref -> ref.getName().equals("refs/remotes/origin/" + branchName));
-
-//                if (branchExists) {
-//                    git.checkout()
-//                            .setCreateBranch(true)
-//                            .setName(branchName)
-//                            .setStartPoint("origin/" + branchName)
-//                            .call();
-//                    LOGGER.info("Checked out branch: " + branchName);
-//                } else {
-//                    git.checkout()
-//                            .setName(branchName)
-//                            .call();
-//                    LOGGER.info("Checked out existing master branch");
-//                }
-
-                if (branchExists) {
-                    if ("master".equals(branchName)) {
-                        git.checkout()
-                                .setName(branchName)
-                                .call();
-                        LOGGER.info("Checked out existing master branch");
-                    } else {
-                        git.checkout()
-                                .setCreateBranch(true)
-                                .setName(branchName)
-                                .setStartPoint("origin/" + branchName)
-                                .call();
-                        LOGGER.info("Checked out branch: " + branchName);
-                    }
-                } else {
-                    LOGGER.info("The BranchName " + branchName + " doesn't exist");
-                    throw new IllegalArgumentException("Branch does not exist: " + branchName);
-                }
+    public ConsolidatedStatusDto addFile(String repoName, String branchName, String fileName,
+                                         String fileContent, List<MultipartFile> files,
+                                         String commitMessage, boolean extractArchives) throws Exception {
+        try (GitMetrics.Operation operation = gitMetrics.operation("addFile", repoName)) {
+            ConsolidatedStatusDto status = writeFiles(repoName, branchName, fileName, fileContent, files,
+                    commitMessage, extractArchives);
+            operation.succeeded();
+            return status;
+        }
+    }
 
-                git.pull().call();
-                LOGGER.info("Pulled changes from remote");
+    private ConsolidatedStatusDto writeFiles(String repoName, String branchName, String fileName,
+                                             String fileContent, List<MultipartFile> files,
+                                             String commitMessage, boolean extractArchives) throws Exception {
+        ConsolidatedStatus consolidatedStatus = new ConsolidatedStatus();
+        File bareRepoDir = new File(baseDirectory, repoName.endsWith(".git") ? repoName : repoName + ".git");
+        if (!bareRepoDir.exists() || !bareRepoDir.isDirectory()) {
+            throw new IllegalStateException("Repository directory does not exist: " + bareRepoDir.getAbsolutePath());
+        }
 
-                if (stashCommit != null) {
-                    try {
-                        git.stashApply().call();
-                        LOGGER.info("Applied stash: " + stashCommit.getName());
-                    } catch (GitAPIException e) {
-                        LOGGER.warning("No stashes to apply or failed to apply stash");
-                    }
-                }
+        // Blobs are written before the lock is taken; only the tree, commit and ref update are serialized.
+        try (RepositoryHandle handle = repositoryHandleCache.open(repoName);
+             ObjectInserter inserter = handle.getRepository().newObjectInserter()) {
+            Repository repository = handle.getRepository();
 
-                if (fileName != null) {
-                    File targetFile = new File(tempRepoDir, fileName);
-                    try (FileWriter writer = new FileWriter(targetFile)) {
-                        writer.write(fileContent);
-                    }
-                }
-                if (files != null) {
-                    for (MultipartFile file : files) {
-                        File targetFile = new File(tempRepoDir, file.getOriginalFilename());
-                        if (targetFile.getParentFile() != null && !targetFile.getParentFile().exists()) {
-                            targetFile.getParentFile().mkdirs();
-                            LOGGER.info("Created parent directories for: " + targetFile.getAbsolutePath());
+            TreeEdits edits = new TreeEdits();
+            if (fileName != null) {
+                byte[] content = (fileContent == null ? "" : fileContent).getBytes(StandardCharsets.UTF_8);
+                edits.put(fileName, inserter.insert(Constants.OBJ_BLOB, content));
+            }
+            if (files != null) {
+                for (MultipartFile file : files) {
+                    try (InputStream inputStream = file.getInputStream()) {
+                        if (extractArchives && ArchiveIngester.isArchive(file.getOriginalFilename())) {
+                            int entries = archiveIngester.ingest(file.getOriginalFilename(), inputStream, inserter, edits);
+                            LOGGER.info("Extracted " + entries + " entries from " + file.getOriginalFilename());
+                        } else {
+                            edits.put(file.getOriginalFilename(),
+                                    inserter.insert(Constants.OBJ_BLOB, file.getSize(), inputStream));
                         }
-                        Files.copy(file.getInputStream(), targetFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
                     }
                 }
+            }
+            LOGGER.info("Files are added");
 
-                git.add().addFilepattern(".").call();
-                LOGGER.info("Files are added");
-
-                Status status = git.status().call();
-                consolidatedStatus.addStatus(status);
+            RevCommit commit;
+            try (RepoLock lock = repoLockManager.writeLock(repoName)) {
+                commit = inCoreCommitter.commit(repository, inserter, branchName, edits,
+                        commitMessage, consolidatedStatus);
+            }
+            LOGGER.info("Committed " + commit.getName() + " on " + branchName + " with message: " + commitMessage);
 
-                git.commit().setMessage(commitMessage).call();
-                LOGGER.info("Committed changes with message: " + commitMessage);
+            return convertToDto(consolidatedStatus);
 
-                git.push().call();
-                LOGGER.info("Pushed changes to remote repository");
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Error writing files to repository: " + e.getMessage(), e);
+            throw new IOException("Error writing files to repository: " + e.getMessage(), e);
+        }
+    }
 
-                LOGGER.info("Git operations completed and pushed to remote");
+    public ConsolidatedStatusDto uploadFile(String repoName, String branchName, String fileName, long contentLength,
+                                            InputStream body, String commitMessage,
+                                            boolean extractArchive) throws IOException {
+        ConsolidatedStatus consolidatedStatus = new ConsolidatedStatus();
+        try (GitMetrics.Operation operation = gitMetrics.operation("uploadFile", repoName);
+             RepositoryHandle handle = repositoryHandleCache.open(repoName);
+             ObjectInserter inserter = handle.getRepository().newObjectInserter()) {
+            TreeEdits edits = new TreeEdits();
+            if (extractArchive && ArchiveIngester.isArchive(fileName)) {
+                int entries = archiveIngester.ingest(fileName, body, inserter, edits);
+                LOGGER.info("Extracted " + entries + " entries from " + fileName);
+            } else {
+                edits.put(ArchiveIngester.entryPath(fileName), archiveIngester.insertBlob(inserter, contentLength, body));
+            }
 
-                return convertToDto(consolidatedStatus);
+            RevCommit commit;
+            try (RepoLock lock = repoLockManager.writeLock(repoName)) {
+                commit = inCoreCommitter.commit(handle.getRepository(), inserter, branchName, edits,
+                        commitMessage, consolidatedStatus);
             }
+            LOGGER.info("Committed upload " + commit.getName() + " on " + branchName + " with message: " + commitMessage);
+            operation.succeeded();
+            return convertToDto(consolidatedStatus);
+        }
+    }
 
-        } catch (IOException e) {
-            LOGGER.log(Level.SEVERE, "Error copying file to repository: " + e.getMessage(), e);
-            throw new IOException("Error copying file to repository: " + e.getMessage(), e);
-        } catch (GitAPIException e) {
-            LOGGER.log(Level.SEVERE, "Error performing Git operations: " + e.getMessage(), e);
-            throw new GitAPIException("Error performing Git operations: " + e.getMessage(), e) {
-            };
-        } finally {
-            if (tempRepoDir != null) {
-                deleteDirectory(tempRepoDir);
-                LOGGER.info("Temporary directory deleted: " + tempRepoDir.getAbsolutePath());
+    public ChangesetResultDto commitChangeset(String repoName, String branchName, String expectedParent,
+                                              String commitMessage, InputStream body) throws IOException {
+        if (commitMessage == null || commitMessage.isBlank()) {
+            throw new IllegalArgumentException("Commit message is required.");
+        }
+        if (expectedParent != null && !ObjectId.isId(expectedParent)) {
+            throw new IllegalArgumentException("Invalid expected parent: " + expectedParent);
+        }
+        ObjectId expectedParentId = expectedParent == null ? null : ObjectId.fromString(expectedParent);
+
+        try (GitMetrics.Operation operation = gitMetrics.operation("commitChangeset", repoName);
+             RepositoryHandle handle = repositoryHandleCache.open(repoName);
+             ObjectInserter inserter = handle.getRepository().newObjectInserter()) {
+            Repository repository = handle.getRepository();
+            TreeEdits edits = new TreeEdits();
+            int operationCount;
+            try (GitMetrics.Phase phase = operation.phase("read")) {
+                operationCount = changesetReader.read(body, inserter, edits);
             }
-            if (lockAcquired) {
-                lock.unlock();
+
+            ConsolidatedStatus consolidatedStatus = new ConsolidatedStatus();
+            RevCommit commit;
+            try (GitMetrics.Phase phase = operation.phase("commit");
+                 RepoLock lock = repoLockManager.writeLock(repoName)) {
+                commit = inCoreCommitter.commit(repository, inserter, branchName, expectedParentId,
+                        edits, commitMessage, consolidatedStatus);
             }
+            LOGGER.info("Committed changeset of " + operationCount + " operations as " + commit.getName()
+                    + " on " + repoName + "/" + branchName);
+            operation.succeeded();
+            return ChangesetResultDto.builder()
+                    .branchName(branchName)
+                    .parentId(commit.getParent(0).getName())
+                    .commitId(commit.getName())
+                    .operationCount(operationCount)
+                    .status(convertToDto(consolidatedStatus))
+                    .build();
         }
     }
 
@@ -263,125 +389,150 @@ public class GitService {
         return mapper.map(status, ConsolidatedStatusDto.class);
     }
 
-    private void deleteDirectory(File directoryToBeDeleted) {
+    private long deleteDirectory(File directoryToBeDeleted) {
+        long bytes = 0;
         File[] allContents = directoryToBeDeleted.listFiles();
         if (allContents != null) {
             for (File file : allContents) {
-                deleteDirectory(file);
+                bytes += deleteDirectory(file);
             }
+        } else {
+            bytes = directoryToBeDeleted.length();
         }
         directoryToBeDeleted.delete();
+        return bytes;
     }
 
     public List<CommitDto> commitLog(String repoName, String branchName) throws IOException, GitAPIException {
-        String lockName = "lock:repo:" + repoName;
+        return commitLog(repoName, branchName, null, 0, null);
+    }
+
+    public List<CommitDto> commitLog(String repoName, String branchName, Date since, int limit,
+                                     String after) throws IOException, GitAPIException {
         List<CommitDto> commitDetails = new ArrayList<>();
-        RLock lock = redissonClient.getLock(lockName);
-        lock.lock(30, TimeUnit.SECONDS);
+        streamCommitLog(repoName, branchName, since, limit, after, commitDetails::add);
+        return commitDetails;
+    }
 
-        boolean lockAcquired = false;
-        try {
-            lockAcquired = lock.tryLock(30, TimeUnit.SECONDS);
-            if (!lockAcquired) {
-                throw new IllegalStateException("Could not acquire the lock");
-            }
-            try {
-                File repoDir = new File(baseDirectory, repoName.endsWith(".git") ? repoName : repoName + ".git");
-
-                FileRepositoryBuilder builder = new FileRepositoryBuilder();
-                Repository repository = builder.setGitDir(repoDir)
-                        .readEnvironment()
-                        .findGitDir()
-                        .build();
-
-                try (Git git = new Git(repository)) {
-                    if (!repository.isBare()) {
-                        git.checkout().setName(branchName).call();
-                    } else {
-                        branchName = "refs/heads/" + branchName;
+    public void streamCommitLog(String repoName, String branchName, Date since, int limit, String after,
+                                CommitLogSink sink) throws IOException, GitAPIException {
+        try (GitMetrics.Operation operation = gitMetrics.operation("commitLog", repoName)) {
+            walkCommitLog(repoName, branchName, since, limit, after, sink);
+            operation.succeeded();
+        }
+    }
+
+    private void walkCommitLog(String repoName, String branchName, Date since, int limit, String after,
+                               CommitLogSink sink) throws IOException, GitAPIException {
+        try (RepoLock lock = repoLockManager.readLock(repoName)) {
+            try (RepositoryHandle handle = repositoryHandleCache.open(repoName);
+                 Git git = Git.wrap(handle.getRepository());
+                 RevWalk revWalk = new RevWalk(handle.getRepository())) {
+                Repository repository = git.getRepository();
+                if (!repository.isBare()) {
+                    git.checkout().setName(branchName).call();
+                } else {
+                    branchName = "refs/heads/" + branchName;
+                }
+
+                ObjectId headId = repository.resolve(branchName);
+                if (headId == null) {
+                    throw new IllegalArgumentException("Branch does not exist: " + branchName);
+                }
+                ObjectId afterId = null;
+                if (after != null) {
+                    afterId = repository.resolve(after);
+                    if (afterId == null) {
+                        throw new IllegalArgumentException("Commit does not exist: " + after);
                     }
+                }
 
-                    Iterable<RevCommit> commits = git.log().add(repository.resolve(branchName)).call();
+                revWalk.markStart(revWalk.parseCommit(headId));
+                if (since != null) {
+                    revWalk.setRevFilter(CommitTimeRevFilter.after(since));
+                }
 
-                    for (RevCommit commit : commits) {
-                        CommitDto commitDto = new CommitDto();
-                        String commitId = getShortCommitId(commit.getId().getName());
-                        commitDto.setCommitId(commitId);
-                        commitDto.setAuthor(commit.getAuthorIdent().getName());
-                        commitDto.setDate(String.valueOf(commit.getAuthorIdent().getWhen()));
-                        commitDto.setMessage(commit.getFullMessage());
-                        commitDetails.add(commitDto);
+                boolean emitting = afterId == null;
+                int emitted = 0;
+                for (RevCommit commit : revWalk) {
+                    if (!emitting) {
+                        emitting = commit.equals(afterId);
+                        continue;
+                    }
+                    sink.accept(toCommitDto(commit));
+                    emitted++;
+                    if (limit > 0 && emitted >= limit) {
+                        break;
                     }
                 }
-                return commitDetails;
             } catch (IOException e) {
                 throw new IllegalStateException("Error to found commit Details: ", e);
             }
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        } finally {
-            if (lockAcquired) {
-                lock.unlock();
-            }
         }
     }
 
+    private CommitDto toCommitDto(RevCommit commit) {
+        CommitDto commitDto = new CommitDto();
+        commitDto.setCommitId(getShortCommitId(commit.getId().getName()));
+        commitDto.setAuthor(commit.getAuthorIdent().getName());
+        commitDto.setDate(String.valueOf(commit.getAuthorIdent().getWhen()));
+        commitDto.setMessage(commit.getFullMessage());
+        return commitDto;
+    }
+
     public void pushChanges(String repoName, String remoteRepoName) throws IOException, GitAPIException, URISyntaxException {
-        String lockName = "lock:repo:" + repoName;
-        RLock lock = redissonClient.getLock(lockName);
-        lock.lock(30, TimeUnit.SECONDS);
-        try {
-            File repoDir = new File(baseDirectory, repoName);
+        try (GitMetrics.Operation operation = gitMetrics.operation("pushChanges", repoName);
+             RepoLock lock = repoLockManager.writeLock(repoName)) {
             String remoteUrl = "file://" + new File(baseDirectory, remoteRepoName + ".git").getAbsolutePath();
+            Map<String, ObjectId> remoteRefs = refSnapshot(remoteRepoName);
 
-            try (Git git = Git.open(repoDir)) {
+            try (RepositoryHandle handle = repositoryHandleCache.open(repoName);
+                 Git git = Git.wrap(handle.getRepository())) {
                 git.remoteAdd()
                         .setName("origin")
                         .setUri(new URIish(remoteUrl))
                         .call();
-                git.push()
-                        .setRemote("origin")
-                        .call();
+                try (GitMetrics.Phase phase = operation.phase("push")) {
+                    git.push()
+                            .setRemote("origin")
+                            .call();
+                }
             }
-        } finally {
-            lock.unlock();
+            publishRefChanges(remoteRepoName, remoteRefs);
+            operation.succeeded();
         }
     }
 
     public void pullChanges(String repoName, String branch) throws IOException, GitAPIException {
-        String lockName = "lock:repo:" + repoName;
-        RLock lock = redissonClient.getLock(lockName);
-        lock.lock(30, TimeUnit.SECONDS);
-        try {
-            File repoDir = new File(baseDirectory, repoName);
-
-            try (Git git = Git.open(repoDir)) {
+        try (GitMetrics.Operation operation = gitMetrics.operation("pullChanges", repoName);
+             RepoLock lock = repoLockManager.writeLock(repoName);
+             RepositoryHandle handle = repositoryHandleCache.open(repoName);
+             Git git = Git.wrap(handle.getRepository())) {
+            Map<String, ObjectId> refs = refEventPublisher.snapshot(handle.getRepository());
+            try (GitMetrics.Phase phase = operation.phase("fetch")) {
                 git.pull().setRemoteBranchName(branch).call();
             }
-        } finally {
-            lock.unlock();
+            refEventPublisher.publishDifferences(handle.getRepository(), refs);
+            operation.succeeded();
         }
     }
 
     public void createBranch(String repoName, String branchName) throws Exception {
-        String lockName = "lock:repo:" + repoName;
-        RLock lock = redissonClient.getLock(lockName);
-        lock.lock(30, TimeUnit.SECONDS);
         apiValidation.checkRepoNotNull(repoName);
         apiValidation.checkBranchNotNull(branchName);
-        File repoDir = new File(baseDirectory, repoName);
-        try (Git git = Git.open(repoDir)) {
+        try (RepoLock lock = repoLockManager.writeLock(repoName);
+             RepositoryHandle handle = repositoryHandleCache.open(repoName);
+             Git git = Git.wrap(handle.getRepository())) {
             if (apiValidation.branchExists(git, branchName)) {
                 throw new Exception("Branch " + branchName + " already exists.");
             }
-            git.branchCreate()
+            Ref branchRef = git.branchCreate()
                     .setName(branchName)
                     .setUpstreamMode(CreateBranchCommand.SetupUpstreamMode.TRACK)
                     .call();
+            refEventPublisher.refChanged(repoName, branchRef.getName(), null, branchRef.getObjectId());
         } catch (Exception e) {
             throw new Exception(e);
-        } finally {
-            lock.unlock();
         }
     }
 
@@ -391,10 +542,8 @@ public class GitService {
 
     public List<FileDto> getRepositoryFiles(String repoName, String branchName) throws IOException, GitAPIException {
         List<FileDto> files = new ArrayList<>();
-        File repoDir = new File(baseDirectory, repoName);
-
-        try (Git git = Git.open(repoDir)) {
-            Repository repository = git.getRepository();
+        try (RepositoryHandle handle = repositoryHandleCache.open(repoName)) {
+            Repository repository = handle.getRepository();
             ObjectId branchId = repository.resolve(branchName);
 
             try (RevWalk revWalk = new RevWalk(repository)) {
@@ -411,7 +560,7 @@ public class GitService {
 
                         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
                         loader.copyTo(outputStream);
-                        String content = outputStream.toString();
+                        String content = outputStream.toString(StandardCharsets.UTF_8);
 
                         files.add(new FileDto(filePath, content));
                     }
@@ -421,11 +570,136 @@ public class GitService {
         return files;
     }
 
+    public List<TreeEntryDto> listTree(String repoName, String branchName, String path) throws IOException {
+        String treePath = path == null ? "" : TreeEdits.normalizePathOrRoot(path);
+        List<TreeEntryDto> entries = new ArrayList<>();
+        try (RepositoryHandle handle = repositoryHandleCache.open(repoName);
+             ObjectReader reader = handle.getRepository().newObjectReader();
+             RevWalk revWalk = new RevWalk(reader)) {
+            Repository repository = handle.getRepository();
+            ObjectId branchId = repository.resolve(Constants.R_HEADS + branchName);
+            if (branchId == null) {
+                throw new IllegalArgumentException("Branch does not exist: " + branchName);
+            }
+            RevTree rootTree = revWalk.parseCommit(branchId).getTree();
+
+            ObjectId treeId = rootTree;
+            if (!treePath.isEmpty()) {
+                try (TreeWalk pathWalk = TreeWalk.forPath(reader, treePath, rootTree)) {
+                    if (pathWalk == null || !FileMode.TREE.equals(pathWalk.getFileMode(0))) {
+                        throw new IllegalArgumentException("Directory does not exist: " + treePath);
+                    }
+                    treeId = pathWalk.getObjectId(0);
+                }
+            }
+
+            try (TreeWalk treeWalk = new TreeWalk(reader)) {
+                treeWalk.addTree(treeId);
+                treeWalk.setRecursive(false);
+                while (treeWalk.next()) {
+                    FileMode fileMode = treeWalk.getFileMode(0);
+                    ObjectId objectId = treeWalk.getObjectId(0);
+                    String name = treeWalk.getNameString();
+                    Long size = null;
+                    if (fileMode.getObjectType() == Constants.OBJ_BLOB) {
+                        size = reader.getObjectSize(objectId, Constants.OBJ_BLOB);
+                    }
+                    entries.add(new TreeEntryDto(name, treePath.isEmpty() ? name : treePath + "/" + name,
+                            entryType(fileMode), fileMode.toString(), objectId.getName(), size));
+                }
+            }
+        }
+        return entries;
+    }
+
+    public BlobInfoDto describeBlob(String repoName, String branchName, String path, String objectId) throws IOException {
+        try (RepositoryHandle handle = repositoryHandleCache.open(repoName);
+             ObjectReader reader = handle.getRepository().newObjectReader()) {
+            ObjectId blobId = resolveBlobId(handle.getRepository(), reader, branchName, path, objectId);
+            ObjectLoader loader = openBlob(reader, blobId);
+
+            byte[] head = new byte[BINARY_PROBE_SIZE];
+            int probed;
+            try (InputStream inputStream = loader.openStream()) {
+                probed = inputStream.readNBytes(head, 0, head.length);
+            }
+            return new BlobInfoDto(blobId.getName(), loader.getSize(), RawText.isBinary(head, probed));
+        }
+    }
+
+    public void streamBlob(String repoName, String objectId, long offset, long length,
+                           OutputStream outputStream) throws IOException {
+        try (RepositoryHandle handle = repositoryHandleCache.open(repoName);
+             ObjectReader reader = handle.getRepository().newObjectReader();
+             InputStream inputStream = openBlob(reader, ObjectId.fromString(objectId)).openStream()) {
+            inputStream.skipNBytes(offset);
+            copyRange(inputStream, length, outputStream);
+        }
+    }
+
+    private static void copyRange(InputStream inputStream, long length, OutputStream outputStream) throws IOException {
+        byte[] buffer = new byte[8192];
+        long remaining = length;
+        while (remaining > 0) {
+            int read = inputStream.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (read < 0) {
+                break;
+            }
+            outputStream.write(buffer, 0, read);
+            remaining -= read;
+        }
+    }
+
+    private ObjectLoader openBlob(ObjectReader reader, ObjectId blobId) throws IOException {
+        try {
+            return reader.open(blobId, Constants.OBJ_BLOB);
+        } catch (MissingObjectException | IncorrectObjectTypeException e) {
+            throw new IllegalArgumentException("Blob does not exist: " + blobId.getName(), e);
+        }
+    }
+
+    private ObjectId resolveBlobId(Repository repository, ObjectReader reader, String branchName, String path,
+                                   String objectId) throws IOException {
+        if (objectId != null) {
+            if (!ObjectId.isId(objectId)) {
+                throw new IllegalArgumentException("Invalid object id: " + objectId);
+            }
+            return ObjectId.fromString(objectId);
+        }
+        if (branchName == null || path == null) {
+            throw new IllegalArgumentException("Either objectId or branchName and path are required.");
+        }
+        ObjectId branchId = repository.resolve(Constants.R_HEADS + branchName);
+        if (branchId == null) {
+            throw new IllegalArgumentException("Branch does not exist: " + branchName);
+        }
+        try (RevWalk revWalk = new RevWalk(reader);
+             TreeWalk treeWalk = TreeWalk.forPath(reader, TreeEdits.normalizePath(path),
+                     revWalk.parseCommit(branchId).getTree())) {
+            if (treeWalk == null || treeWalk.getFileMode(0).getObjectType() != Constants.OBJ_BLOB) {
+                throw new IllegalArgumentException("File does not exist: " + path);
+            }
+            return treeWalk.getObjectId(0);
+        }
+    }
+
+    private String entryType(FileMode fileMode) {
+        if (FileMode.TREE.equals(fileMode)) {
+            return "tree";
+        } else if (FileMode.GITLINK.equals(fileMode)) {
+            return "commit";
+        } else if (FileMode.SYMLINK.equals(fileMode)) {
+            return "symlink";
+        }
+        return "blob";
+    }
+
     public List<String> listBranches(String repoName) throws Exception {
         apiValidation.checkRepoNotNull(repoName);
-        File repoDir = new File(baseDirectory, repoName);
         List<String> branches = new ArrayList<>();
-        try (Git git = Git.open(repoDir)) {
+        try (RepoLock lock = repoLockManager.readLock(repoName);
+             RepositoryHandle handle = repositoryHandleCache.open(repoName);
+             Git git = Git.wrap(handle.getRepository())) {
             List<Ref> branchRefs = git.branchList().call();
             for (Ref ref : branchRefs) {
                 branches.add(ref.getName());
@@ -434,21 +708,141 @@ public class GitService {
         return branches;
     }
 
+    public Map<String, Object> listBranchDetails(String repoName, String prefix, int limit, String cursor) throws Exception {
+        apiValidation.checkRepoNotNull(repoName);
+        int pageSize = Math.max(1, Math.min(limit, MAX_BRANCH_PAGE_SIZE));
+        try (RepoLock lock = repoLockManager.readLock(repoName);
+             RepositoryHandle handle = repositoryHandleCache.open(repoName);
+             RevWalk revWalk = new RevWalk(handle.getRepository())) {
+            Repository repository = handle.getRepository();
+            Ref head = repository.exactRef(Constants.HEAD);
+            String defaultRef = head != null && head.isSymbolic() ? head.getTarget().getName() : null;
+            ObjectId baseTip = head == null ? null : head.getObjectId();
+
+            // The cursor is a binary search over ref names, so sort here rather than trust the ref database's order.
+            List<Ref> refs = new ArrayList<>(repository.getRefDatabase()
+                    .getRefsByPrefix(Constants.R_HEADS + (prefix == null ? "" : prefix)));
+            refs.sort(Comparator.comparing(Ref::getName));
+            int start = cursor == null || cursor.isEmpty() ? 0 : firstRefAfter(refs, Constants.R_HEADS + cursor);
+
+            List<BranchDto> branches = new ArrayList<>(Math.min(pageSize, refs.size() - start));
+            boolean hasMore = false;
+            for (Ref ref : refs.subList(start, refs.size())) {
+                if (ref.getObjectId() == null) {
+                    continue;
+                }
+                if (branches.size() == pageSize) {
+                    hasMore = true;
+                    break;
+                }
+                BranchDto summary = summarizeBranch(repoName, revWalk, ref.getObjectId(), baseTip);
+                branches.add(BranchDto.builder()
+                        .name(Repository.shortenRefName(ref.getName()))
+                        .refName(ref.getName())
+                        .tipId(summary.getTipId())
+                        .author(summary.getAuthor())
+                        .authorEmail(summary.getAuthorEmail())
+                        .timestamp(summary.getTimestamp())
+                        .message(summary.getMessage())
+                        .defaultBranch(ref.getName().equals(defaultRef))
+                        .ahead(summary.getAhead())
+                        .behind(summary.getBehind())
+                        .build());
+            }
+
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("defaultBranch", defaultRef == null ? null : Repository.shortenRefName(defaultRef));
+            response.put("branches", branches);
+            if (hasMore) {
+                response.put("nextCursor", branches.get(branches.size() - 1).getName());
+            }
+            return response;
+        }
+    }
+
+    private int firstRefAfter(List<Ref> refs, String refName) {
+        int low = 0;
+        int high = refs.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (refs.get(middle).getName().compareTo(refName) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // Tip metadata is cached per tip and survives pushes to the default branch; only ahead/behind is keyed by the
+    // base as well, and recomputing it is a single walk down to the merge-base frontier.
+    private BranchDto summarizeBranch(String repoName, RevWalk revWalk, ObjectId tip, ObjectId baseTip) throws IOException {
+        String tipKey = BranchSummaryCache.key(repoName, tip, null);
+        BranchDto tipSummary = branchSummaryCache.get(tipKey);
+        if (tipSummary == null) {
+            RevCommit commit = revWalk.parseCommit(tip);
+            PersonIdent author = commit.getAuthorIdent();
+            tipSummary = BranchDto.builder()
+                    .tipId(commit.getName())
+                    .author(author.getName())
+                    .authorEmail(author.getEmailAddress())
+                    .timestamp(author.getWhen().toInstant().toString())
+                    .message(commit.getShortMessage())
+                    .build();
+            branchSummaryCache.put(tipKey, tipSummary);
+        }
+        if (baseTip == null) {
+            return tipSummary;
+        }
+
+        String aheadBehindKey = BranchSummaryCache.key(repoName, tip, baseTip);
+        BranchDto aheadBehindSummary = branchSummaryCache.get(aheadBehindKey);
+        if (aheadBehindSummary == null) {
+            AheadBehindDto aheadBehind = commitGraphIndex.aheadBehind(revWalk, tip, baseTip);
+            aheadBehindSummary = BranchDto.builder()
+                    .ahead(aheadBehind.getAhead())
+                    .behind(aheadBehind.getBehind())
+                    .build();
+            branchSummaryCache.put(aheadBehindKey, aheadBehindSummary);
+        }
+        return BranchDto.builder()
+                .tipId(tipSummary.getTipId())
+                .author(tipSummary.getAuthor())
+                .authorEmail(tipSummary.getAuthorEmail())
+                .timestamp(tipSummary.getTimestamp())
+                .message(tipSummary.getMessage())
+                .ahead(aheadBehindSummary.getAhead())
+                .behind(aheadBehindSummary.getBehind())
+                .build();
+    }
+
     public List<String> getRepositoryNames() {
         List<String> repositoryNames = new ArrayList<>();
-        File directory = new File(baseDirectory);
-        try {
-            for (File file : directory.listFiles()) {
-                repositoryNames.add(file.getName());
-            }
-        } catch (RuntimeException ex) {
-            throw new RuntimeException("Repository not found.");
+        for (String repoName : repositoryCatalog.getRepositoryNames()) {
+            repositoryNames.add(repoName + ".git");
         }
         return repositoryNames;
     }
 
+    public Map<String, Object> getRepositoryCatalog(String prefix, int page, int size, String sort, String direction) {
+        Page<RepositoryCatalogDto> catalogPage = repositoryCatalog.page(prefix, page, size, sort, direction);
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("repositories", catalogPage.getContent());
+        response.put("page", catalogPage.getNumber());
+        response.put("size", catalogPage.getSize());
+        response.put("totalElements", catalogPage.getTotalElements());
+        response.put("totalPages", catalogPage.getTotalPages());
+        return response;
+    }
+
     public List<FileStructureResponse> getFolderStructure(String path) {
         List<FileStructureResponse> nodes = new ArrayList<>();
+        if (path == null || TreeEdits.normalizePathOrRoot(path).isEmpty()) {
+            for (String repositoryName : getRepositoryNames()) {
+                nodes.add(new FileStructureResponse(repositoryName, true));
+            }
+            return nodes;
+        }
         File dir = new File(baseDirectory, path);
         File[] files = dir.listFiles();
         if (files != null) {
@@ -463,26 +857,40 @@ public class GitService {
         return nodes;
     }
 
-    public String getFileContent(String path) {
-        File file = new File(baseDirectory, path);
-        StringBuilder contentBuilder = new StringBuilder();
-        try (BufferedReader br = new BufferedReader(new InputStreamReader
-                (new FileInputStream(file), StandardCharsets.UTF_8))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                contentBuilder.append(line).append("\n");
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-            return "Failed to read file content.";
+    public File resolveContentFile(String path) throws IOException {
+        File baseDir = new File(baseDirectory).getCanonicalFile();
+        File file = new File(baseDir, path).getCanonicalFile();
+        if (!file.toPath().startsWith(baseDir.toPath())) {
+            throw new IllegalArgumentException("Path is outside of the repository directory: " + path);
+        }
+        if (!file.isFile()) {
+            throw new IllegalArgumentException("File does not exist: " + path);
+        }
+        return file;
+    }
+
+    public boolean isBinaryFile(File file) throws IOException {
+        byte[] head = new byte[BINARY_PROBE_SIZE];
+        int probed;
+        try (InputStream inputStream = Files.newInputStream(file.toPath())) {
+            probed = inputStream.readNBytes(head, 0, head.length);
+        }
+        return RawText.isBinary(head, probed);
+    }
+
+    // A bounded, buffered copy of the requested range; the servlet stream is not a channel the kernel can
+    // splice into, so FileChannel.transferTo would only have copied through a buffer of its own.
+    public void transferFileContent(File file, long offset, long length, OutputStream outputStream) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+             InputStream inputStream = Channels.newInputStream(channel.position(offset))) {
+            copyRange(inputStream, length, outputStream);
         }
-        return contentBuilder.toString();
     }
 
     public void checkoutBranch(String repoName, String branchName) {
-        File repoDir = new File(baseDirectory, repoName);
         List<String> branches = new ArrayList<>();
-        try (Git git = Git.open(repoDir)) {
+        try (RepositoryHandle handle = repositoryHandleCache.open(repoName);
+             Git git = Git.wrap(handle.getRepository())) {
             StoredConfig config = git.getRepository().getConfig();
             config.setBoolean("core", null, "bare", false);
             config.save();
@@ -492,23 +900,31 @@ public class GitService {
             }
             if (!branches.isEmpty()) {
                 git.checkout().setName(branchName).call();
-                System.out.println("Checked out branch: " + branchName);
+                LOGGER.info("Checked out branch: " + branchName);
             } else {
-                System.out.println("No branches found in the repository.");
+                LOGGER.info("No branches found in the repository.");
             }
         } catch (IOException | GitAPIException e) {
-            e.printStackTrace();
+            LOGGER.log(Level.WARNING, "Failed to check out branch " + branchName + ": " + e.getMessage(), e);
         }
     }
 
     public String createPullRequest(String repoName, String title, String description, String sourceBranch, String targetBranch) throws IOException, GitAPIException {
+        try (GitMetrics.Operation operation = gitMetrics.operation("createPullRequest", repoName)) {
+            String response = analyzeAndSavePullRequest(repoName, title, description, sourceBranch, targetBranch);
+            operation.succeeded();
+            return response;
+        }
+    }
+
+    private String analyzeAndSavePullRequest(String repoName, String title, String description, String sourceBranch,
+                                             String targetBranch) throws IOException, GitAPIException {
         if (sourceBranch.equals(targetBranch)) {
             throw new IllegalArgumentException("Source branch and target branch must be different.");
         }
 
-        File repoDir = new File(baseDirectory, repoName.endsWith(".git") ? repoName : repoName + ".git");
-
-        try (Git git = Git.open(repoDir)) {
+        try (RepositoryHandle handle = repositoryHandleCache.open(repoName);
+             Git git = Git.wrap(handle.getRepository())) {
             Repository repository = git.getRepository();
             ObjectId sourceCommit = repository.resolve(sourceBranch);
             ObjectId targetCommit = repository.resolve(targetBranch);
@@ -516,60 +932,195 @@ public class GitService {
             if (sourceCommit == null || targetCommit == null) {
                 throw new IllegalArgumentException("Branch name(s) with zero commits.");
             }
-            List<DiffEntry> diffs = getDiffs(git, sourceBranch, targetBranch);
-            List<ModifiedFileDto> modifiedFileDtos = getModifiedFiles(diffs, repository, repoName);
+            DiffSummaryDto diffSummary = getDiffSummary(git, repoName, sourceBranch, targetBranch);
+            List<ModifiedFileDto> modifiedFileDtos = diffSummary.getModifiedFiles();
             PullRequestDto pullRequestdto = new PullRequestDto(title, description, repoName, sourceBranch, targetBranch, modifiedFileDtos);
-            savePullRequest(pullRequestdto);
 
-            List<String> conflictFiles = getConflictingFiles(diffs);
+            List<String> conflictFiles = diffSummary.getConflictFiles();
             boolean isUpToDate = isUpToDate(sourceCommit, targetCommit, repository);
             int commitCount = getCommitCount(sourceBranch, repository);
-            int overallChangesCount = getOverallFileChangesCount(diffs);
+            int overallChangesCount = diffSummary.getChangeCount();
+            List<String> payloadKeys = diffPayloadService.storeAll(modifiedFileDtos);
+
+            transactionTemplate.executeWithoutResult(status -> {
+                PullRequestEntity pullRequestEntity = newPullRequestEntity(pullRequestdto);
+                pullRequestEntity.setModifiedFiles(toModifiedFileEntities(pullRequestEntity, modifiedFileDtos, payloadKeys));
+                recordDiffSummary(pullRequestEntity, diffSummary);
+                pullRequestEntity.setCommitCount(commitCount);
+                pullRequestEntity.setUpToDate(isUpToDate);
+                markAnalysis(pullRequestEntity, ANALYSIS_COMPLETED, null, 100);
+                pullRequestRepository.save(pullRequestEntity);
+                pullRequestdto.setPullRequestLink(pullRequestEntity.getPullRequestLink());
+            });
 
             return generateResponse(pullRequestdto, modifiedFileDtos, conflictFiles, commitCount, overallChangesCount);
         }
     }
 
-    private List<DiffEntry> getDiffs(Git git, String sourceBranch, String targetBranch) throws IOException, GitAPIException {
-        CanonicalTreeParser sourceTreeParser = new CanonicalTreeParser();
-        CanonicalTreeParser targetTreeParser = new CanonicalTreeParser();
-        try (ObjectReader reader = git.getRepository().newObjectReader()) {
-            sourceTreeParser.reset(reader, git.getRepository().resolve(sourceBranch + "^{tree}"));
-            targetTreeParser.reset(reader, git.getRepository().resolve(targetBranch + "^{tree}"));
+    public PullRequestAnalysisStatusDto submitPullRequest(String repoName, String title, String description,
+                                                          String sourceBranch, String targetBranch) throws IOException {
+        if (sourceBranch.equals(targetBranch)) {
+            throw new IllegalArgumentException("Source branch and target branch must be different.");
+        }
+        try (RepositoryHandle handle = repositoryHandleCache.open(repoName)) {
+            Repository repository = handle.getRepository();
+            if (repository.resolve(sourceBranch) == null || repository.resolve(targetBranch) == null) {
+                throw new IllegalArgumentException("Branch name(s) with zero commits.");
+            }
         }
 
-        return git.diff()
-                .setNewTree(sourceTreeParser)
-                .setOldTree(targetTreeParser)
-                .call();
+        PullRequestDto pullRequestdto = new PullRequestDto(title, description, repoName, sourceBranch, targetBranch, new ArrayList<>());
+        PullRequestEntity skeleton = transactionTemplate.execute(status -> {
+            PullRequestEntity pullRequestEntity = newPullRequestEntity(pullRequestdto);
+            markAnalysis(pullRequestEntity, ANALYSIS_PENDING, "queued", 0);
+            pullRequestEntity.setAnalysisNode(pullRequestAnalysisExecutor.getNodeId());
+            return pullRequestRepository.save(pullRequestEntity);
+        });
+
+        Long id = skeleton.getId();
+        try {
+            pullRequestAnalysisExecutor.submit(() -> analyzePullRequest(id));
+        } catch (IllegalStateException e) {
+            updateAnalysis(id, pullRequest -> {
+                markAnalysis(pullRequest, ANALYSIS_FAILED, null, 0);
+                pullRequest.setAnalysisError(e.getMessage());
+            });
+            throw e;
+        }
+        return toAnalysisStatus(skeleton);
     }
 
-    private List<ModifiedFileDto> getModifiedFiles(List<DiffEntry> diffs, Repository repository, String repoName) throws IOException {
-        List<ModifiedFileDto> modifiedFileDtos = new ArrayList<>();
-        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-             DiffFormatter diffFormatter = new DiffFormatter(outputStream)) {
-            diffFormatter.setRepository(repository);
-            for (DiffEntry diff : diffs) {
-                diffFormatter.format(diff);
-                String diffOutput = outputStream.toString();
-                outputStream.reset();
+    void recoverPullRequestAnalysis(Long id, boolean requeue) {
+        if (requeue) {
+            LOGGER.info("Requeueing analysis of pull request " + id + " interrupted by a restart");
+            pullRequestAnalysisExecutor.submit(() -> analyzePullRequest(id));
+            return;
+        }
+        LOGGER.info("Failing analysis of pull request " + id + " interrupted by a restart");
+        updateAnalysis(id, entity -> {
+            markAnalysis(entity, ANALYSIS_FAILED, entity.getAnalysisPhase(),
+                    entity.getAnalysisProgress() == null ? 0 : entity.getAnalysisProgress());
+            entity.setAnalysisError("Analysis was interrupted by a restart, please resubmit.");
+        });
+    }
 
-                List<String> diffLines = Arrays.asList(diffOutput.split("\n"));
-                String formattedChanges = formatDiffLines(diffLines);
+    public PullRequestAnalysisStatusDto getPullRequestAnalysisStatus(Long id) {
+        PullRequestEntity pullRequest = pullRequestRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("PullRequest not found for this id :: " + id));
+        return toAnalysisStatus(pullRequest);
+    }
 
-                String fileName = diff.getNewPath();
-                String projectName = "project-GIT";
-                String fileUrl = String.format("C:/Users/com.codeshelf/%s/%s/src/main/java/%s", projectName, repoName, fileName);
+    private void analyzePullRequest(Long id) {
+        PullRequestEntity pullRequest = pullRequestRepository.findById(id).orElse(null);
+        if (pullRequest == null) {
+            return;
+        }
+        String repoName = pullRequest.getRepoName();
+        String sourceBranch = pullRequest.getSourceBranch();
+        String targetBranch = pullRequest.getTargetBranch();
 
-                ModifiedFileDto modifiedFileDto = new ModifiedFileDto(fileName, formattedChanges, fileUrl);
-                modifiedFileDtos.add(modifiedFileDto);
+        try (RepositoryHandle handle = repositoryHandleCache.open(repoName);
+             Git git = Git.wrap(handle.getRepository())) {
+            Repository repository = git.getRepository();
+            updateAnalysis(id, entity -> markAnalysis(entity, ANALYSIS_RUNNING, "diff", 10));
+            DiffSummaryDto diffSummary = getDiffSummary(git, repoName, sourceBranch, targetBranch);
+            List<String> payloadKeys = diffPayloadService.storeAll(diffSummary.getModifiedFiles());
+
+            updateAnalysis(id, entity -> {
+                modifiedFileRepository.saveAll(toModifiedFileEntities(entity, diffSummary.getModifiedFiles(), payloadKeys));
+                recordDiffSummary(entity, diffSummary);
+                markAnalysis(entity, ANALYSIS_RUNNING, "commits", 60);
+            });
+            int commitCount = getCommitCount(sourceBranch, repository);
 
+            updateAnalysis(id, entity -> {
+                entity.setCommitCount(commitCount);
+                markAnalysis(entity, ANALYSIS_RUNNING, "up-to-date", 85);
+            });
+            ObjectId sourceCommit = repository.resolve(sourceBranch);
+            ObjectId targetCommit = repository.resolve(targetBranch);
+            if (sourceCommit == null || targetCommit == null) {
+                throw new IllegalArgumentException("Branch name(s) with zero commits.");
             }
+            boolean isUpToDate = isUpToDate(sourceCommit, targetCommit, repository);
+
+            updateAnalysis(id, entity -> {
+                entity.setUpToDate(isUpToDate);
+                markAnalysis(entity, ANALYSIS_COMPLETED, null, 100);
+            });
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Analysis of pull request " + id + " failed: " + e.getMessage(), e);
+            updateAnalysis(id, entity -> {
+                markAnalysis(entity, ANALYSIS_FAILED, entity.getAnalysisPhase(),
+                        entity.getAnalysisProgress() == null ? 0 : entity.getAnalysisProgress());
+                entity.setAnalysisError(e.getMessage());
+            });
         }
-        return modifiedFileDtos;
     }
 
-    private void savePullRequest(PullRequestDto pullRequest) {
+    private void updateAnalysis(Long id, Consumer<PullRequestEntity> update) {
+        transactionTemplate.executeWithoutResult(status -> pullRequestRepository.findById(id).ifPresent(update));
+    }
+
+    private void markAnalysis(PullRequestEntity pullRequest, String analysisStatus, String phase, int progress) {
+        pullRequest.setAnalysisStatus(analysisStatus);
+        pullRequest.setAnalysisPhase(phase);
+        pullRequest.setAnalysisProgress(progress);
+        pullRequest.setUpdatedAt(DateTimeUtils.getCurrentTimeInUTATimezone());
+    }
+
+    private void recordDiffSummary(PullRequestEntity pullRequest, DiffSummaryDto diffSummary) {
+        pullRequest.setChangeCount(diffSummary.getChangeCount());
+        pullRequest.setConflictCount(diffSummary.getConflictFiles().size());
+    }
+
+    private PullRequestAnalysisStatusDto toAnalysisStatus(PullRequestEntity pullRequest) {
+        return PullRequestAnalysisStatusDto.builder()
+                .id(pullRequest.getId())
+                .analysisStatus(pullRequest.getAnalysisStatus() == null ? ANALYSIS_COMPLETED : pullRequest.getAnalysisStatus())
+                .analysisPhase(pullRequest.getAnalysisPhase())
+                .progress(pullRequest.getAnalysisStatus() == null || pullRequest.getAnalysisProgress() == null
+                        ? 100 : pullRequest.getAnalysisProgress())
+                .changeCount(pullRequest.getChangeCount())
+                .conflictCount(pullRequest.getConflictCount())
+                .commitCount(pullRequest.getCommitCount())
+                .upToDate(pullRequest.getUpToDate())
+                .error(pullRequest.getAnalysisError())
+                .pullRequestLink(pullRequest.getPullRequestLink())
+                .build();
+    }
+
+    private DiffSummaryDto getDiffSummary(Git git, String repoName, String sourceBranch,
+                                          String targetBranch) throws IOException, GitAPIException {
+        Repository repository = git.getRepository();
+        ObjectId sourceTree = repository.resolve(sourceBranch + "^{tree}");
+        ObjectId targetTree = repository.resolve(targetBranch + "^{tree}");
+        if (sourceTree == null || targetTree == null) {
+            throw new IllegalArgumentException("Branch name(s) with zero commits.");
+        }
+
+        String cacheKey = DiffCache.key(repoName, targetTree, sourceTree);
+        DiffSummaryDto cached = diffCache.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        try (GitMetrics.Operation operation = gitMetrics.operation("diff", repoName)) {
+            List<DiffEntry> diffs = diffRenderer.scan(repository, targetTree, sourceTree);
+            DiffSummaryDto diffSummary = new DiffSummaryDto(diffRenderer.render(repository, diffs, repoName),
+                    getConflictingFiles(diffs), diffs.size());
+            long changeBytes = 0;
+            for (ModifiedFileDto modifiedFile : diffSummary.getModifiedFiles()) {
+                changeBytes += modifiedFile.getChanges() == null ? 0 : modifiedFile.getChanges().length();
+            }
+            gitMetrics.recordDiff(repoName, diffs.size(), changeBytes);
+            diffCache.put(cacheKey, diffSummary);
+            operation.succeeded();
+            return diffSummary;
+        }
+    }
+
+    private PullRequestEntity newPullRequestEntity(PullRequestDto pullRequest) {
         PullRequestEntity pullRequestEntity = new PullRequestEntity();
         pullRequestEntity.setTitle(pullRequest.getTitle());
         pullRequestEntity.setDescription(pullRequest.getDescription());
@@ -581,30 +1132,38 @@ public class GitService {
         pullRequestEntity.setCreatedAt(updatedAt);
         pullRequestEntity.setUpdatedAt(updatedAt);
         pullRequestEntity.setStatus("Open");
+        return pullRequestEntity;
+    }
 
-        List<ModifiedFileEntity> modifiedFileEntities = pullRequest.getModifiedFileDtos().stream()
-                .map(modifiedFile -> {
-                    ModifiedFileEntity entity = new ModifiedFileEntity();
-                    entity.setFileName(modifiedFile.getFileName());
-                    entity.setChanges(modifiedFile.getChanges());
-                    entity.setFileUrl(modifiedFile.getFileUrl());
-
-                    entity.setPullRequest(pullRequestEntity);
-                    return entity;
-                })
-                .collect(Collectors.toList());
-
-        pullRequestEntity.setModifiedFiles(modifiedFileEntities);
-
-        PullRequestEntity savedPullRequest = pullRequestRepository.save(pullRequestEntity);
+    private List<ModifiedFileEntity> toModifiedFileEntities(PullRequestEntity pullRequestEntity,
+                                                            List<ModifiedFileDto> modifiedFiles,
+                                                            List<String> payloadKeys) {
+        List<ModifiedFileEntity> modifiedFileEntities = new ArrayList<>(modifiedFiles.size());
+        for (int i = 0; i < modifiedFiles.size(); i++) {
+            ModifiedFileDto modifiedFile = modifiedFiles.get(i);
+            ModifiedFileEntity entity = new ModifiedFileEntity();
+            entity.setFileName(modifiedFile.getFileName());
+            entity.setFileUrl(modifiedFile.getFileUrl());
+            entity.setOldObjectId(modifiedFile.getOldObjectId());
+            entity.setNewObjectId(modifiedFile.getNewObjectId());
+            entity.setPayloadKey(payloadKeys.get(i));
+            if (payloadKeys.get(i) == null) {
+                entity.setChanges(modifiedFile.getChanges());
+            }
 
-        String projectName = "project-GIT";
-        String repoName = pullRequestEntity.getRepoName();
-        long id = pullRequestEntity.getId();
-        String pullRequestLink = String.format("https://codeshelf.com/%s/%s/pull_request/%d", projectName, repoName, id);
+            entity.setPullRequest(pullRequestEntity);
+            modifiedFileEntities.add(entity);
+        }
+        return modifiedFileEntities;
+    }
 
-        savedPullRequest.setPullRequestLink(pullRequestLink);
-        pullRequestRepository.save(savedPullRequest);
+    public String getModifiedFileChanges(Long modifiedFileId) {
+        if (!modifiedFileRepository.existsById(modifiedFileId)) {
+            throw new IllegalArgumentException("Modified file not found for this id :: " + modifiedFileId);
+        }
+        return modifiedFileRepository.findPayloadKey(modifiedFileId)
+                .map(diffPayloadService::load)
+                .orElseGet(() -> modifiedFileRepository.findLegacyChanges(modifiedFileId).orElse(""));
     }
 
     private String generateResponse(PullRequestDto pullRequestDto, List<ModifiedFileDto> modifiedFiles,
@@ -646,10 +1205,6 @@ public class GitService {
         return response.toString();
     }
 
-    private int getOverallFileChangesCount(List<DiffEntry> diffs) {
-        return diffs.size();
-    }
-
    /* private int getCommitCount(String sourceBranch, Repository repository) throws GitAPIException, IOException {
         try (Git git = new Git(repository)) {
             Iterable<RevCommit> commits = git.log().add(repository.resolve(sourceBranch)).call();
@@ -662,18 +1217,11 @@ public class GitService {
     }*/
 
     private int getCommitCount(String sourceBranch, Repository repository) throws GitAPIException, IOException {
-        try (Git git = new Git(repository)) {
-            Ref branchRef = repository.exactRef("refs/heads/" + sourceBranch);
-            if (branchRef == null) {
-                throw new IllegalArgumentException("Branch does not exist: " + sourceBranch);
-            }
-            Iterable<RevCommit> commits = git.log().add(branchRef.getObjectId()).call();
-            int count = 0;
-            for (RevCommit commit : commits) {
-                count++;
-            }
-            return count;
+        Ref branchRef = repository.exactRef("refs/heads/" + sourceBranch);
+        if (branchRef == null) {
+            throw new IllegalArgumentException("Branch does not exist: " + sourceBranch);
         }
+        return commitGraphIndex.countCommits(repository, branchRef.getObjectId());
     }
 
 
@@ -697,20 +1245,34 @@ public class GitService {
     }
 
     public Map<String, Object> getAllPullRequestUrls() {
-        List<PullRequestEntity> pullRequestEntities = pullRequestRepository.findAll();
-        List<PullRequestUrlDto> pullRequestUrlDtos = new ArrayList<>();
+        return getAllPullRequestUrls(null, null, DEFAULT_PULL_REQUEST_PAGE_SIZE, null);
+    }
 
-        int overallPRCount = (int) pullRequestRepository.countPullRequestLinks();
-        int overallOpenCount = (int) pullRequestRepository.countOpenPullRequests();
-        int overallClosedCount = (int) pullRequestRepository.countClosedPullRequests();
+    public Map<String, Object> getAllPullRequestUrls(String repoName, String status, int limit, String cursor) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PULL_REQUEST_PAGE_SIZE));
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
 
-        for (PullRequestEntity pullRequestEntity : pullRequestEntities) {
+        List<PullRequestSummary> summaries;
+        if (cursor == null || cursor.isEmpty()) {
+            summaries = findSummaries(repoName, status, pageable);
+        } else {
+            CursorPosition position = decodeCursor(cursor);
+            summaries = findSummariesAfter(repoName, status, position.createdAt, position.id, pageable);
+        }
+
+        boolean hasMore = summaries.size() > pageSize;
+        if (hasMore) {
+            summaries = summaries.subList(0, pageSize);
+        }
+
+        List<PullRequestUrlDto> pullRequestUrlDtos = new ArrayList<>();
+        for (PullRequestSummary summary : summaries) {
             PullRequestUrlDto pullRequestUrlDto = new PullRequestUrlDto();
-            pullRequestUrlDto.setPullRequestLink(pullRequestEntity.getPullRequestLink());
-            pullRequestUrlDto.setStatus(pullRequestEntity.getStatus());
-            pullRequestUrlDto.setAuthorName(pullRequestEntity.getAuthorName());
+            pullRequestUrlDto.setPullRequestLink(summary.getPullRequestLink());
+            pullRequestUrlDto.setStatus(summary.getStatus());
+            pullRequestUrlDto.setAuthorName(summary.getAuthorName());
 
-            long hoursSinceCreation = Duration.between(pullRequestEntity.getCreatedAt().toInstant(), Instant.now()).toHours();
+            long hoursSinceCreation = Duration.between(summary.getCreatedAt().toInstant(), Instant.now()).toHours();
             long daysSinceCreation = hoursSinceCreation / 24;
             long remainingHours = hoursSinceCreation % 24;
             String formattedDuration;
@@ -725,128 +1287,191 @@ public class GitService {
             pullRequestUrlDtos.add(pullRequestUrlDto);
         }
 
+        int overallPRCount = 0;
+        int overallOpenCount = 0;
+        int overallClosedCount = 0;
+        List<PullRequestStatusCount> statusCounts = repoName == null
+                ? pullRequestRepository.countByStatus()
+                : pullRequestRepository.countByStatusForRepo(repoName);
+        for (PullRequestStatusCount statusCount : statusCounts) {
+            overallPRCount += (int) statusCount.getTotal();
+            if ("Open".equals(statusCount.getStatus())) {
+                overallOpenCount = (int) statusCount.getTotal();
+            } else if ("Closed".equals(statusCount.getStatus())) {
+                overallClosedCount = (int) statusCount.getTotal();
+            }
+        }
+
         Map<String, Object> response = new LinkedHashMap<>();
         response.put("pullRequests", pullRequestUrlDtos);
         response.put("overallPRCount", overallPRCount);
         response.put("overallOpenCount", overallOpenCount);
         response.put("overallClosedCount", overallClosedCount);
+        if (hasMore) {
+            PullRequestSummary last = summaries.get(summaries.size() - 1);
+            response.put("nextCursor", encodeCursor(last.getCreatedAt(), last.getId()));
+        }
 
         return response;
     }
 
+    private String encodeCursor(Timestamp createdAt, Long id) {
+        String position = createdAt.toInstant() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<PullRequestSummary> findSummaries(String repoName, String status, Pageable pageable) {
+        if (repoName != null && status != null) {
+            return pullRequestRepository.findSummariesByRepoAndStatus(repoName, status, pageable);
+        }
+        if (repoName != null) {
+            return pullRequestRepository.findSummariesByRepo(repoName, pageable);
+        }
+        if (status != null) {
+            return pullRequestRepository.findSummariesByStatus(status, pageable);
+        }
+        return pullRequestRepository.findSummaries(pageable);
+    }
+
+    private List<PullRequestSummary> findSummariesAfter(String repoName, String status, Timestamp createdAt,
+                                                        Long id, Pageable pageable) {
+        if (repoName != null && status != null) {
+            return pullRequestRepository.findSummariesByRepoAndStatusAfter(repoName, status, createdAt, id, pageable);
+        }
+        if (repoName != null) {
+            return pullRequestRepository.findSummariesByRepoAfter(repoName, createdAt, id, pageable);
+        }
+        if (status != null) {
+            return pullRequestRepository.findSummariesByStatusAfter(status, createdAt, id, pageable);
+        }
+        return pullRequestRepository.findSummariesAfter(createdAt, id, pageable);
+    }
+
+    private CursorPosition decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = position.split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return new CursorPosition(Timestamp.from(Instant.parse(parts[0])), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    private static class CursorPosition {
+
+        private final Timestamp createdAt;
+        private final Long id;
+
+        CursorPosition(Timestamp createdAt, Long id) {
+            this.createdAt = createdAt;
+            this.id = id;
+        }
+    }
+
     public String mergePullRequest(Long pullRequestId) throws GitAPIException, IOException {
-        PullRequestEntity pullRequestEntity = pullRequestRepository.findById(pullRequestId)
-                .orElseThrow(() -> new IllegalArgumentException("Invalid pull request ID"));
+        String storedRepoName = pullRequestRepository.findRepoNameById(pullRequestId);
+        if (storedRepoName == null) {
+            throw new IllegalArgumentException("Invalid pull request ID");
+        }
 
+        String repoName = new File(storedRepoName).getName();
+        try (GitMetrics.Operation operation = gitMetrics.operation("mergePullRequest", repoName);
+             RepoLock lock = repoLockManager.writeLock(repoName)) {
+            PullRequestEntity current = pullRequestRepository.findById(pullRequestId)
+                    .orElseThrow(() -> new IllegalArgumentException("Invalid pull request ID"));
+            String response = merge(current);
+            operation.succeeded();
+            return response;
+        }
+    }
+
+    private String merge(PullRequestEntity pullRequestEntity) throws GitAPIException, IOException {
         if ("merged".equalsIgnoreCase(pullRequestEntity.getStatus())) {
             throw new IllegalArgumentException("PullRequest ID [ " + pullRequestEntity.getId() + " ]is already merged.");
         }
+        if (ANALYSIS_PENDING.equals(pullRequestEntity.getAnalysisStatus())
+                || ANALYSIS_RUNNING.equals(pullRequestEntity.getAnalysisStatus())) {
+            throw new IllegalStateException("PullRequest ID [ " + pullRequestEntity.getId()
+                    + " ] is still being analyzed, merge it once the analysis has completed.");
+        }
 
         String repoName = new File(pullRequestEntity.getRepoName()).getName();
-        File repoPath = new File(new File(baseDirectory, repoName + ".git").getAbsolutePath());
         String targetBranch = pullRequestEntity.getTargetBranch();
         String sourceBranch = pullRequestEntity.getSourceBranch();
 
-        File tempDir = Files.createTempDirectory("gitrepo_temp").toFile();
-        LOGGER.info("Temporary directory created: " + tempDir.getAbsolutePath());
-
-        try (Git git = Git.cloneRepository()
-                .setURI(repoPath.toURI().toString())
-                .setDirectory(tempDir)
-                .setCloneAllBranches(true)
-                .call()) {
-
-            LOGGER.info("Repository cloned to temporary directory");
+        try (RepositoryHandle handle = repositoryHandleCache.open(repoName);
+             ObjectInserter inserter = handle.getRepository().newObjectInserter();
+             ObjectReader reader = inserter.newReader();
+             RevWalk revWalk = new RevWalk(reader)) {
+            Repository repository = handle.getRepository();
 
-            git.fetch().call();
-
-            List<Ref> branchList = git.branchList()
-                    .setListMode(ListBranchCommand.ListMode.REMOTE)
-                    .call();
-
-            LOGGER.info("Available Branches");
-            for (Ref branch : branchList) {
-                LOGGER.info(branch.getName());
+            Ref targetBranchRef = repository.exactRef(Constants.R_HEADS + targetBranch);
+            if (targetBranchRef == null) {
+                throw new IllegalArgumentException("Target branch does not exist: " + targetBranch);
             }
-            git.checkout().setName(targetBranch).call();
-
-            Ref sourceBranchRef = git.getRepository().findRef("refs/remotes/origin/" + sourceBranch);
+            Ref sourceBranchRef = repository.exactRef(Constants.R_HEADS + sourceBranch);
             if (sourceBranchRef == null) {
                 throw new IllegalArgumentException("Source branch does not exist: " + sourceBranch);
             }
 
-            MergeResult mergeResult = git.merge()
-                    .include(sourceBranchRef)
-                    .call();
-
-            if (mergeResult.getMergeStatus().isSuccessful()) {
-                RevCommit commit = git.commit()
-                        .setMessage("Merged branch " + sourceBranch + " into " + targetBranch)
-                        .call();
+            RevCommit targetCommit = revWalk.parseCommit(targetBranchRef.getObjectId());
+            RevCommit sourceCommit = revWalk.parseCommit(sourceBranchRef.getObjectId());
+
+            ObjectId mergedCommitId;
+            if (revWalk.isMergedInto(sourceCommit, targetCommit)) {
+                LOGGER.info("Branch " + sourceBranch + " is already contained in " + targetBranch);
+                mergedCommitId = targetCommit;
+            } else if (revWalk.isMergedInto(targetCommit, sourceCommit)) {
+                mergedCommitId = sourceCommit;
+                inCoreCommitter.updateBranch(repository, revWalk, targetBranch, targetCommit, mergedCommitId,
+                        "merge " + sourceBranch + ": Fast-forward");
+            } else {
+                ResolveMerger merger = (ResolveMerger) MergeStrategy.RECURSIVE.newMerger(inserter, repository.getConfig());
+                if (!merger.merge(targetCommit, sourceCommit)) {
+                    return "Merge failed: " + (merger.failed()
+                            ? MergeResult.MergeStatus.FAILED
+                            : MergeResult.MergeStatus.CONFLICTING);
+                }
 
-                git.push().call();
+                mergedCommitId = inCoreCommitter.insertCommit(repository, inserter, merger.getResultTreeId(),
+                        "Merged branch " + sourceBranch + " into " + targetBranch, targetCommit, sourceCommit);
+                inCoreCommitter.updateBranch(repository, revWalk, targetBranch, targetCommit, mergedCommitId,
+                        "merge " + sourceBranch + ": Merge made by recursive.");
+            }
 
-                pullRequestEntity.setStatus("merged");
-                Timestamp updatedAt = DateTimeUtils.getCurrentTimeInUTATimezone();
-                pullRequestEntity.setUpdatedAt(updatedAt);
-                pullRequestRepository.save(pullRequestEntity);
+            pullRequestEntity.setStatus("merged");
+            Timestamp updatedAt = DateTimeUtils.getCurrentTimeInUTATimezone();
+            pullRequestEntity.setUpdatedAt(updatedAt);
+            pullRequestRepository.save(pullRequestEntity);
 
-                String commitId = getShortCommitId(commit.getId().getName());
+            String commitId = getShortCommitId(mergedCommitId.getName());
 
-                StringBuilder response = new StringBuilder();
-                response.append("Merge successful:\n");
-                response.append("Branch: ").append(sourceBranch).append(" to ").append(targetBranch).append("\n");
-                response.append("Commit ID: ").append(commitId).append("\n");
+            StringBuilder response = new StringBuilder();
+            response.append("Merge successful:\n");
+            response.append("Branch: ").append(sourceBranch).append(" to ").append(targetBranch).append("\n");
+            response.append("Commit ID: ").append(commitId).append("\n");
 
-                return response.toString();
-            } else {
-                return "Merge failed: " + mergeResult.getMergeStatus();
-            }
+            return response.toString();
         } catch (IOException e) {
             throw new RuntimeException("Error accessing repository", e);
-        } finally {
-            deleteTempDirectory(tempDir);
-        }
-    }
-
-    private void deleteTempDirectory(File tempDir) {
-        File[] files = tempDir.listFiles();
-        if (files != null) {
-            for (File file : files) {
-                file.delete();
-            }
         }
-        tempDir.delete();
     }
 
     public List<ModifiedFileDto> fileChanges(String repoName, String sourceBranch, String targetBranch) throws IOException, GitAPIException {
-        File repoDir = new File(baseDirectory, repoName.endsWith(".git") ? repoName : repoName + ".git");
         List<ModifiedFileDto> modifiedFiles;
 
-        try (Git git = Git.open(repoDir)) {
-            Repository repository = git.getRepository();
-            List<DiffEntry> diffs = getDiffs(git, sourceBranch, targetBranch);
-            modifiedFiles = getModifiedFiles(diffs, repository, repoName);
+        try (RepoLock lock = repoLockManager.readLock(repoName);
+             RepositoryHandle handle = repositoryHandleCache.open(repoName);
+             Git git = Git.wrap(handle.getRepository())) {
+            modifiedFiles = getDiffSummary(git, repoName, sourceBranch, targetBranch).getModifiedFiles();
         }
 
         return modifiedFiles;
     }
 
-    private String formatDiffLines(List<String> diffLines) {
-        StringBuilder changes = new StringBuilder();
-
-        for (String line : diffLines) {
-            if (line.startsWith("+") && !line.startsWith("+++")) {
-                changes.append("++ ").append(line.substring(1)).append("\n");
-            } else if (line.startsWith("-") && !line.startsWith("---")) {
-                changes.append("-- ").append(line.substring(1)).append("\n");
-            }
-        }
-        String formattedChanges = changes.toString().replaceAll("(?m)^", "    ");
-
-        return formattedChanges.trim();
-    }
-
    /* public Map<String, Object> getConflictContent(String repoName, String sourceBranch, String targetBranch) {
         Map<String, Object> response = new HashMap<>();
         try {
@@ -902,113 +1527,58 @@ public class GitService {
     }*/
 
     public Map<String, Object> getConflictContent(String repoName, String sourceBranch, String targetBranch) {
-        Map<String, Object> response = new HashMap<>();
-        try {
-            File repoPath = new File(baseDirectory, repoName + ".git");
-            File tempDir = Files.createTempDirectory("gitrepo_temp").toFile();
-
-            try (Git git = Git.cloneRepository()
-                    .setURI(repoPath.toURI().toString())
-                    .setDirectory(tempDir)
-                    .setCloneAllBranches(true)
-                    .call()) {
-
-                git.checkout().setName(targetBranch).call();
-
-                Ref sourceBranchRef = git.getRepository().findRef("refs/remotes/origin/" + sourceBranch);
-                if (sourceBranchRef == null) {
-                    throw new IllegalArgumentException("Source branch does not exist: " + sourceBranch);
-                }
-
-                MergeResult mergeResult = git.merge()
-                        .include(sourceBranchRef)
-                        .call();
-
-                MergeResult.MergeStatus mergeStatus = mergeResult.getMergeStatus();
-                if (mergeStatus == MergeResult.MergeStatus.CONFLICTING) {
-                    Map<String, int[][]> conflicts = mergeResult.getConflicts();
-                    if (conflicts != null && !conflicts.isEmpty()) {
-                        List<Map<String, String>> conflictFiles = new ArrayList<>();
-
-                        for (String conflictedFile : conflicts.keySet()) {
-                            int[][] conflictMarkers = conflicts.get(conflictedFile);
-                            Map<String, String> conflictFile = new HashMap<>();
-                            conflictFile.put("fileName", conflictedFile);
-
-                            String conflictContent = fetchConflictContent(tempDir, conflictedFile, conflictMarkers, sourceBranch, targetBranch);
-                            conflictFile.put("conflictContent", conflictContent);
-
-                            conflictFiles.add(conflictFile);
-                        }
-
-                        response.put("message", "Conflict occurs. Resolve conflict changes to merge this PR request.");
-                        response.put("conflictFiles", conflictFiles);
-                    }
-                } else {
-                    response.put("message", "No conflict found. Ready to merge.");
-                }
-
-            } catch (CheckoutConflictException e) {
-                throw new IllegalStateException("Checkout conflict: " + e.getMessage());
-            } finally {
-                deleteTempDirectory(tempDir);
-            }
-        } catch (IOException | GitAPIException e) {
+        try (GitMetrics.Operation operation = gitMetrics.operation("getConflictContent", repoName);
+             RepositoryHandle handle = repositoryHandleCache.open(repoName)) {
+            Map<String, Object> response = conflictAnalyzer.analyze(handle.getRepository(), sourceBranch, targetBranch);
+            operation.succeeded();
+            return response;
+        } catch (IOException e) {
             throw new IllegalArgumentException("Failed to retrieve conflict content: " + e.getMessage());
         }
-        return response;
-    }
-
-    private String fetchConflictContent(File tempDir, String fileName, int[][] conflictMarkers, String sourceBranch, String targetBranch) throws IOException {
-        List<String> lines = Files.readAllLines(Paths.get(tempDir.getPath(), fileName));
-        StringBuilder content = new StringBuilder();
-
-        int markerIndex = 0;
-        for (int i = 0; i < lines.size(); i++) {
-            if (markerIndex < conflictMarkers.length && i + 1 == conflictMarkers[markerIndex][0]) {
-                content.append("<<<<<<< ").append(targetBranch).append("\n");
-            }
-            content.append(lines.get(i)).append("\n");
-            if (markerIndex < conflictMarkers.length && i + 1 == conflictMarkers[markerIndex][1]) {
-                content.append("=======\n");
-                content.append(">>>>>>> ").append(sourceBranch).append("\n");
-                markerIndex++;
-            }
-        }
-
-        return content.toString();
     }
 
     public Map<String, Object> resolveAndCommit(String repoName, String sourceBranch, String targetBranch, List<Map<String, String>> resolvedFiles) {
         Map<String, Object> response = new HashMap<>();
 
-        try {
+        try (GitMetrics.Operation operation = gitMetrics.operation("resolveAndCommit", repoName)) {
             File repoPath = new File(baseDirectory, repoName + ".git");
+            Map<String, ObjectId> refs = refSnapshot(repoName);
             File tempDir = Files.createTempDirectory("gitrepo_temp").toFile();
 
-            try (Git git = Git.cloneRepository()
-                    .setURI(repoPath.toURI().toString())
-                    .setDirectory(tempDir)
-                    .setCloneAllBranches(true)
-                    .call()) {
-
-                git.checkout().setName(targetBranch).call();
+            try {
+                Git cloned;
+                try (GitMetrics.Phase phase = operation.phase("clone")) {
+                    cloned = Git.cloneRepository()
+                            .setURI(repoPath.toURI().toString())
+                            .setDirectory(tempDir)
+                            .setCloneAllBranches(true)
+                            .call();
+                }
+                try (Git git = cloned) {
+                    try (GitMetrics.Phase phase = operation.phase("checkout")) {
+                        git.checkout().setName(targetBranch).call();
+                    }
 
-                resolveConflicts(git, tempDir, resolvedFiles);
+                    resolveConflicts(git, tempDir, resolvedFiles);
 
-                RevCommit commit = commitChanges(git, "Resolved conflicts from branch " + sourceBranch);
+                    RevCommit commit = commitChanges(git, "Resolved conflicts from branch " + sourceBranch);
 
-                String commitId = getShortCommitId(commit.getId().getName());
+                    String commitId = getShortCommitId(commit.getId().getName());
 
-                pushResolvedChanges(git, targetBranch);
+                    try (GitMetrics.Phase phase = operation.phase("push")) {
+                        pushResolvedChanges(git, targetBranch);
+                    }
+                    publishRefChanges(repoName, refs);
 
-                response.put("message", "Conflicts resolved and changes committed.");
-                response.put("commitId", commitId);
+                    response.put("message", "Conflicts resolved and changes committed.");
+                    response.put("commitId", commitId);
 
-                return response;
+                    operation.succeeded();
+                    return response;
+                }
 
             } finally {
-                deleteTempDirectory(tempDir);
+                gitMetrics.recordTempDirectory(repoName, deleteDirectory(tempDir));
             }
 
         } catch (IOException | GitAPIException e) {
@@ -1017,6 +1587,18 @@ public class GitService {
         }
     }
 
+    private Map<String, ObjectId> refSnapshot(String repoName) throws IOException {
+        try (RepositoryHandle handle = repositoryHandleCache.open(repoName)) {
+            return refEventPublisher.snapshot(handle.getRepository());
+        }
+    }
+
+    private void publishRefChanges(String repoName, Map<String, ObjectId> before) throws IOException {
+        try (RepositoryHandle handle = repositoryHandleCache.open(repoName)) {
+            refEventPublisher.publishDifferences(handle.getRepository(), before);
+        }
+    }
+
     private void resolveConflicts(Git git, File tempDir, List<Map<String, String>> resolvedFiles) throws IOException, GitAPIException {
         for (Map<String, String> resolvedFile : resolvedFiles) {
             String fileName = resolvedFile.get("fileName");
@@ -0,0 +1,98 @@
+package com.gitrepository.gitrepository.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.MappingException;
+import org.hibernate.dialect.sequence.SequenceSupport;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+@Component
+public class IdSequenceMigration {
+
+    private static final Logger LOGGER = Logger.getLogger(IdSequenceMigration.class.getName());
+
+    static final int ALLOCATION_SIZE = 50;
+
+    private static final Map<String, String> SEQUENCES = new LinkedHashMap<>();
+
+    static {
+        SEQUENCES.put("pull_request", "pull_request_seq");
+        SEQUENCES.put("modified_files", "modified_files_seq");
+    }
+
+    // One-off upgrade step from the former IDENTITY columns. Off by default so that a normal boot does not
+    // draw a block from every sequence just to look at it.
+    @Value("${git.jpa.align-sequences:false}")
+    private boolean enabled;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void alignSequences() {
+        if (!enabled) {
+            return;
+        }
+        SequenceSupport sequenceSupport = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect().getSequenceSupport();
+        if (!sequenceSupport.supportsSequences()) {
+            LOGGER.info("Dialect has no sequences; skipping id sequence alignment");
+            return;
+        }
+        for (Map.Entry<String, String> entry : SEQUENCES.entrySet()) {
+            try {
+                align(sequenceSupport, entry.getKey(), entry.getValue());
+            } catch (DataAccessException | MappingException e) {
+                LOGGER.log(Level.WARNING, "Could not align sequence " + entry.getValue() + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    // The pooled optimizer hands out (value - ALLOCATION_SIZE, value], so the sequence has to sit at least
+    // ALLOCATION_SIZE above the highest id that the former IDENTITY columns already issued.
+    private void align(SequenceSupport sequenceSupport, String table, String sequence) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        long highest = maxId == null ? 0 : maxId;
+        long start = highest + ALLOCATION_SIZE + 1;
+        if (start > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Cannot start sequence " + sequence + " at " + start
+                    + ": the dialect only takes int initial values");
+        }
+
+        Long next;
+        try {
+            next = jdbcTemplate.queryForObject(sequenceSupport.getSequenceNextValString(sequence), Long.class);
+        } catch (DataAccessException e) {
+            LOGGER.info("Creating sequence " + sequence + " starting at " + start);
+            create(sequenceSupport, sequence, start);
+            return;
+        }
+
+        if (highest > 0 && next != null && next - ALLOCATION_SIZE < highest) {
+            LOGGER.info("Recreating sequence " + sequence + " at " + start + " above " + table + ".id " + highest);
+            for (String ddl : sequenceSupport.getDropSequenceStrings(sequence)) {
+                jdbcTemplate.execute(ddl);
+            }
+            create(sequenceSupport, sequence, start);
+        }
+    }
+
+    private void create(SequenceSupport sequenceSupport, String sequence, long start) {
+        for (String ddl : sequenceSupport.getCreateSequenceStrings(sequence, Math.toIntExact(start), ALLOCATION_SIZE)) {
+            jdbcTemplate.execute(ddl);
+        }
+    }
+}
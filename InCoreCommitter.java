@@ -0,0 +1,295 @@
+package com.gitrepository.gitrepository.service;
+
+import com.gitrepository.gitrepository.dto.ConsolidatedStatus;
+import com.gitrepository.gitrepository.event.RefEventPublisher;
+import com.gitrepository.gitrepository.exception.BranchMovedException;
+import org.eclipse.jgit.dircache.DirCache;
+import org.eclipse.jgit.dircache.DirCacheBuilder;
+import org.eclipse.jgit.dircache.DirCacheEditor;
+import org.eclipse.jgit.dircache.DirCacheEntry;
+import org.eclipse.jgit.errors.DirCacheNameConflictException;
+import org.eclipse.jgit.lib.CommitBuilder;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.RefUpdate;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+
+@Component
+public class InCoreCommitter {
+
+    private static final Logger LOGGER = Logger.getLogger(InCoreCommitter.class.getName());
+
+    @Autowired
+    private RefEventPublisher refEventPublisher;
+
+    public RevCommit commit(Repository repository, ObjectInserter inserter, String branchName,
+                            TreeEdits edits, String commitMessage,
+                            ConsolidatedStatus consolidatedStatus) throws IOException {
+        return commit(repository, inserter, branchName, null, edits, commitMessage, consolidatedStatus);
+    }
+
+    public RevCommit commit(Repository repository, ObjectInserter inserter, String branchName,
+                            ObjectId expectedParentId, TreeEdits edits, String commitMessage,
+                            ConsolidatedStatus consolidatedStatus) throws IOException {
+        String refName = Constants.R_HEADS + branchName;
+        Ref branchRef = repository.exactRef(refName);
+        if (branchRef == null || branchRef.getObjectId() == null) {
+            LOGGER.info("The BranchName " + branchName + " doesn't exist");
+            throw new IllegalArgumentException("Branch does not exist: " + branchName);
+        }
+        ObjectId parentId = branchRef.getObjectId();
+        if (expectedParentId != null && !expectedParentId.equals(parentId)) {
+            throw new BranchMovedException(branchName, "Branch " + branchName + " is at " + parentId.getName()
+                    + ", expected " + expectedParentId.getName() + ".");
+        }
+
+        try (ObjectReader reader = inserter.newReader();
+             RevWalk revWalk = new RevWalk(reader)) {
+            RevCommit parent = revWalk.parseCommit(parentId);
+
+            DirCache dirCache = DirCache.newInCore();
+            DirCacheBuilder builder = dirCache.builder();
+            builder.addTree(new byte[0], DirCacheEntry.STAGE_0, reader, parent.getTree());
+            builder.finish();
+
+            Map<String, FileState> overlay = new HashMap<>();
+            for (TreeEdits.Operation operation : edits.getOperations()) {
+                apply(dirCache, overlay, operation);
+            }
+
+            DirCacheEditor editor = dirCache.editor();
+            for (Map.Entry<String, FileState> entry : new TreeMap<>(overlay).entrySet()) {
+                String path = entry.getKey();
+                FileState state = entry.getValue();
+                DirCacheEntry existing = dirCache.getEntry(path);
+                if (state == null) {
+                    if (existing != null) {
+                        editor.add(new DirCacheEditor.DeletePath(path));
+                        consolidatedStatus.getRemoved().add(path);
+                    }
+                    continue;
+                }
+                if (existing == null) {
+                    consolidatedStatus.getAdded().add(path);
+                } else if (!state.blobId.equals(existing.getObjectId()) || !state.fileMode.equals(existing.getFileMode())) {
+                    consolidatedStatus.getChanged().add(path);
+                } else {
+                    continue;
+                }
+                editor.add(new BlobPathEdit(path, state.blobId, state.fileMode));
+            }
+            try {
+                editor.finish();
+            } catch (DirCacheNameConflictException e) {
+                throw new IllegalArgumentException("Path conflicts with an existing file or directory: "
+                        + e.getPath1() + " / " + e.getPath2(), e);
+            }
+
+            ObjectId treeId = dirCache.writeTree(inserter);
+            ObjectId commitId = insertCommit(repository, inserter, treeId, commitMessage, parentId);
+            RevCommit commit = revWalk.parseCommit(commitId);
+
+            updateBranch(repository, revWalk, branchName, parentId, commitId, "commit: " + commit.getShortMessage());
+            return commit;
+        }
+    }
+
+    void apply(DirCache dirCache, Map<String, FileState> overlay, TreeEdits.Operation operation) {
+        String path = operation.getPath();
+        FileState current = lookup(dirCache, overlay, path);
+        switch (operation.getAction()) {
+            case CREATE:
+                if (current != null) {
+                    throw new IllegalArgumentException("Path already exists: " + path);
+                }
+                checkNoConflict(dirCache, overlay, path);
+                overlay.put(path, new FileState(operation.getBlobId(), modeFor(operation.getFileMode(), null)));
+                break;
+            case UPDATE:
+                if (current == null) {
+                    throw new IllegalArgumentException("Path does not exist: " + path);
+                }
+                overlay.put(path, new FileState(operation.getBlobId(), modeFor(operation.getFileMode(), current)));
+                break;
+            case PUT:
+                if (current == null) {
+                    checkNoConflict(dirCache, overlay, path);
+                }
+                overlay.put(path, new FileState(operation.getBlobId(), modeFor(operation.getFileMode(), current)));
+                break;
+            case CHMOD:
+                if (current == null) {
+                    throw new IllegalArgumentException("Path does not exist: " + path);
+                }
+                overlay.put(path, new FileState(current.blobId, operation.getFileMode()));
+                break;
+            case MOVE:
+                FileState source = lookup(dirCache, overlay, operation.getSourcePath());
+                if (source == null) {
+                    throw new IllegalArgumentException("Path does not exist: " + operation.getSourcePath());
+                }
+                if (current != null) {
+                    throw new IllegalArgumentException("Path already exists: " + path);
+                }
+                overlay.put(operation.getSourcePath(), null);
+                checkNoConflict(dirCache, overlay, path);
+                overlay.put(path, source);
+                break;
+            case DELETE:
+                if (current != null) {
+                    overlay.put(path, null);
+                } else if (!deleteDirectory(dirCache, overlay, path)) {
+                    throw new IllegalArgumentException("Path does not exist: " + path);
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported operation: " + operation.getAction());
+        }
+    }
+
+    private FileState lookup(DirCache dirCache, Map<String, FileState> overlay, String path) {
+        if (overlay.containsKey(path)) {
+            return overlay.get(path);
+        }
+        DirCacheEntry entry = dirCache.getEntry(path);
+        return entry == null ? null : new FileState(entry.getObjectId(), entry.getFileMode());
+    }
+
+    private void checkNoConflict(DirCache dirCache, Map<String, FileState> overlay, String path) {
+        for (int slash = path.indexOf('/'); slash > 0; slash = path.indexOf('/', slash + 1)) {
+            String parent = path.substring(0, slash);
+            if (lookup(dirCache, overlay, parent) != null) {
+                throw new IllegalArgumentException("Path conflicts with an existing file: " + parent);
+            }
+        }
+        for (DirCacheEntry entry : dirCache.getEntriesWithin(path)) {
+            if (!overlay.containsKey(entry.getPathString()) || overlay.get(entry.getPathString()) != null) {
+                throw new IllegalArgumentException("Path conflicts with an existing directory: " + path);
+            }
+        }
+        String prefix = path + "/";
+        for (Map.Entry<String, FileState> entry : overlay.entrySet()) {
+            if (entry.getKey().startsWith(prefix) && entry.getValue() != null) {
+                throw new IllegalArgumentException("Path conflicts with an existing directory: " + path);
+            }
+        }
+    }
+
+    private boolean deleteDirectory(DirCache dirCache, Map<String, FileState> overlay, String path) {
+        boolean deleted = false;
+        for (DirCacheEntry entry : dirCache.getEntriesWithin(path)) {
+            if (!overlay.containsKey(entry.getPathString())) {
+                overlay.put(entry.getPathString(), null);
+                deleted = true;
+            }
+        }
+        String prefix = path + "/";
+        for (Map.Entry<String, FileState> entry : overlay.entrySet()) {
+            if (entry.getKey().startsWith(prefix) && entry.getValue() != null) {
+                entry.setValue(null);
+                deleted = true;
+            }
+        }
+        return deleted;
+    }
+
+    private FileMode modeFor(FileMode requested, FileState current) {
+        if (requested != null) {
+            return requested;
+        }
+        return current != null && FileMode.EXECUTABLE_FILE.equals(current.fileMode)
+                ? FileMode.EXECUTABLE_FILE
+                : FileMode.REGULAR_FILE;
+    }
+
+    public ObjectId insertCommit(Repository repository, ObjectInserter inserter, ObjectId treeId,
+                                 String commitMessage, ObjectId... parentIds) throws IOException {
+        PersonIdent ident = new PersonIdent(repository);
+        CommitBuilder commitBuilder = new CommitBuilder();
+        commitBuilder.setTreeId(treeId);
+        commitBuilder.setParentIds(parentIds);
+        commitBuilder.setAuthor(ident);
+        commitBuilder.setCommitter(ident);
+        commitBuilder.setMessage(commitMessage);
+        ObjectId commitId = inserter.insert(commitBuilder);
+        inserter.flush();
+        return commitId;
+    }
+
+    public void updateBranch(Repository repository, RevWalk revWalk, String branchName, ObjectId expectedOldId,
+                             ObjectId newId, String refLogMessage) throws IOException {
+        RefUpdate refUpdate = repository.updateRef(Constants.R_HEADS + branchName);
+        refUpdate.setExpectedOldObjectId(expectedOldId == null ? ObjectId.zeroId() : expectedOldId);
+        refUpdate.setNewObjectId(newId);
+        refUpdate.setRefLogMessage(refLogMessage, false);
+
+        RefUpdate.Result result = refUpdate.update(revWalk);
+        switch (result) {
+            case NEW:
+            case FAST_FORWARD:
+            case FORCED:
+                LOGGER.info("Moved " + branchName + " to " + newId.getName() + " (" + result + ")");
+                refEventPublisher.refChanged(repository, refUpdate.getName(), expectedOldId, newId);
+                break;
+            case LOCK_FAILURE:
+            case REJECTED:
+            case REJECTED_CURRENT_BRANCH:
+                throw new BranchMovedException(branchName,
+                        "Branch " + branchName + " was updated concurrently, please retry.");
+            default:
+                throw new IOException("Failed to update branch " + branchName + ": " + result);
+        }
+    }
+
+    static class FileState {
+
+        private final ObjectId blobId;
+        private final FileMode fileMode;
+
+        FileState(ObjectId blobId, FileMode fileMode) {
+            this.blobId = blobId;
+            this.fileMode = fileMode;
+        }
+
+        ObjectId getBlobId() {
+            return blobId;
+        }
+
+        FileMode getFileMode() {
+            return fileMode;
+        }
+    }
+
+    private static class BlobPathEdit extends DirCacheEditor.PathEdit {
+
+        private final ObjectId blobId;
+        private final FileMode fileMode;
+
+        BlobPathEdit(String path, ObjectId blobId, FileMode fileMode) {
+            super(path);
+            this.blobId = blobId;
+            this.fileMode = fileMode;
+        }
+
+        @Override
+        public void apply(DirCacheEntry entry) {
+            entry.setFileMode(fileMode);
+            entry.setObjectId(blobId);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.gitrepository.gitrepository.lock;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+@ConditionalOnProperty(name = "git.lock.mode", havingValue = "local")
+public class LocalRepoLockManager extends AbstractRepoLockManager {
+
+    private final ReentrantReadWriteLock[] stripes;
+
+    public LocalRepoLockManager(MeterRegistry meterRegistry,
+                                @Value("${git.lock.wait-seconds:30}") long waitSeconds,
+                                @Value("${git.lock.stripes:64}") int stripeCount) {
+        super(meterRegistry, waitSeconds);
+        this.stripes = new ReentrantReadWriteLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    @Override
+    protected String mode() {
+        return "local";
+    }
+
+    @Override
+    protected RepoLock tryAcquire(String key, boolean write, long waitSeconds) throws InterruptedException {
+        ReentrantReadWriteLock stripe = stripes[(key.hashCode() & 0x7fffffff) % stripes.length];
+        Lock lock = write ? stripe.writeLock() : stripe.readLock();
+        if (!lock.tryLock(waitSeconds, TimeUnit.SECONDS)) {
+            return null;
+        }
+        return new RepoLock(key, lock::unlock);
+    }
+}
@@ -0,0 +1,25 @@
+package com.gitrepository.gitrepository.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class MaintenanceReportDto {
+  private String repoName;
+  private long looseObjectsBefore;
+  private long looseObjectsAfter;
+  private long packFilesBefore;
+  private long packFilesAfter;
+  private long looseRefsBefore;
+  private long looseRefsAfter;
+  private long bytesBefore;
+  private long bytesAfter;
+  private long durationMillis;
+  private String finishedAt;
+  private String error;
+}
@@ -13,5 +13,7 @@ public class ModifiedFileDto {
   private String fileName;
   private String changes;
   private String fileUrl;
+  private String oldObjectId;
+  private String newObjectId;
 }
 
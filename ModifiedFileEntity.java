@@ -1,5 +1,6 @@
 package com.gitrepository.gitrepository.entity;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -7,6 +8,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Lob;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -21,13 +23,19 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class ModifiedFileEntity {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "modified_files_seq")
+  @SequenceGenerator(name = "modified_files_seq", sequenceName = "modified_files_seq", allocationSize = 50)
   private Long id;
   private String fileName;
 
   @Lob
   private String changes;
   private String fileUrl;
+  private String oldObjectId;
+  private String newObjectId;
+
+  @Column(length = 64)
+  private String payloadKey;
 
   @ManyToOne
   @JoinColumn(name = "pull_request_id", nullable = false)
@@ -2,8 +2,19 @@ package com.gitrepository.gitrepository.repository;
 
 import com.gitrepository.gitrepository.entity.ModifiedFileEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface ModifiedFileRepository extends JpaRepository<ModifiedFileEntity, Long> {
+
+  @Query("SELECT m.payloadKey FROM ModifiedFileEntity m WHERE m.id = :id")
+  Optional<String> findPayloadKey(@Param("id") Long id);
+
+  @Query("SELECT m.changes FROM ModifiedFileEntity m WHERE m.id = :id")
+  Optional<String> findLegacyChanges(@Param("id") Long id);
+
 }
@@ -0,0 +1,102 @@
+package com.gitrepository.gitrepository.service;
+
+import com.gitrepository.gitrepository.config.DateTimeUtils;
+import com.gitrepository.gitrepository.repository.PullRequestRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.sql.Timestamp;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class PullRequestAnalysisExecutor {
+
+    private final ThreadPoolExecutor executor;
+
+    private final Timestamp startedAt = DateTimeUtils.getCurrentTimeInUTATimezone();
+
+    // Must stay the same across restarts of this node, so it can recover the analyses it owned.
+    @Value("${git.node-id:#{null}}")
+    private String nodeId;
+
+    @Autowired
+    private PullRequestRepository pullRequestRepository;
+
+    @Autowired
+    private ObjectProvider<GitService> gitService;
+
+    public PullRequestAnalysisExecutor(@Value("${git.pr-analysis.threads:2}") int threads,
+                                       @Value("${git.pr-analysis.queue-capacity:64}") int queueCapacity,
+                                       @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                threadFactory("pr-analysis-", virtualThreads),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public String getNodeId() {
+        if (nodeId == null) {
+            try {
+                nodeId = InetAddress.getLocalHost().getHostName();
+            } catch (UnknownHostException e) {
+                throw new IllegalStateException("Cannot determine the node id, set git.node-id", e);
+            }
+        }
+        return nodeId;
+    }
+
+    public void submit(Runnable job) {
+        try {
+            executor.execute(job);
+        } catch (RejectedExecutionException e) {
+            throw new IllegalStateException("Pull request analysis queue is full, try again later", e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverInterruptedAnalyses() {
+        for (Long id : pullRequestRepository.findIdsByAnalysisStatus(GitService.ANALYSIS_RUNNING, startedAt,
+                getNodeId())) {
+            gitService.getObject().recoverPullRequestAnalysis(id, false);
+        }
+        for (Long id : pullRequestRepository.findIdsByAnalysisStatus(GitService.ANALYSIS_PENDING, startedAt,
+                getNodeId())) {
+            try {
+                gitService.getObject().recoverPullRequestAnalysis(id, true);
+            } catch (IllegalStateException e) {
+                gitService.getObject().recoverPullRequestAnalysis(id, false);
+            }
+        }
+    }
+
+    static ThreadFactory threadFactory(String prefix, boolean virtualThreads) {
+        if (virtualThreads) {
+            return new VirtualThreadTaskExecutor(prefix).getVirtualThreadFactory();
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
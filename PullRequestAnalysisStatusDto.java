@@ -0,0 +1,23 @@
+package com.gitrepository.gitrepository.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PullRequestAnalysisStatusDto {
+  private Long id;
+  private String analysisStatus;
+  private String analysisPhase;
+  private int progress;
+  private Integer changeCount;
+  private Integer conflictCount;
+  private Integer commitCount;
+  private Boolean upToDate;
+  private String error;
+  private String pullRequestLink;
+}
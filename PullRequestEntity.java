@@ -6,8 +6,14 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -18,15 +24,23 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "pull_request")
+@Table(name = "pull_request", indexes = {
+    @Index(name = "idx_pull_request_repo_status_created", columnList = "repo_name, status, created_at, id"),
+    @Index(name = "idx_pull_request_status_created", columnList = "status, created_at, id"),
+    @Index(name = "idx_pull_request_created", columnList = "created_at, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class PullRequestEntity {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pull_request_seq")
+  @SequenceGenerator(name = "pull_request_seq", sequenceName = "pull_request_seq", allocationSize = 50)
   private Long id;
+  @Version
+  @Column(columnDefinition = "bigint default 0")
+  private Long version;
   private String title;
   private String description;
   private String repoName;
@@ -36,10 +50,33 @@ public class PullRequestEntity {
   private String sourceBranch;
   private String targetBranch;
   private String status;
+
+  private String analysisStatus;
+  private String analysisPhase;
+  private Integer analysisProgress;
+  private String analysisError;
+  private String analysisNode;
+  private Integer changeCount;
+  private Integer conflictCount;
+  private Integer commitCount;
+  private Boolean upToDate;
+
+  @Transient
   private String pullRequestLink;
 
   @OneToMany(cascade = CascadeType.ALL, mappedBy = "pullRequest")
   private List<ModifiedFileEntity> modifiedFiles = new ArrayList<>();
 
+  public static String linkFor(String repoName, Long id) {
+    String projectName = "project-GIT";
+    return String.format("https://codeshelf.com/%s/%s/pull_request/%d", projectName, repoName, id);
+  }
+
+  @PostLoad
+  @PostPersist
+  void deriveLink() {
+    this.pullRequestLink = linkFor(repoName, id);
+  }
+
 }
 
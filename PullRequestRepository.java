@@ -1,20 +1,77 @@
 package com.gitrepository.gitrepository.repository;
 
+import com.gitrepository.gitrepository.dto.PullRequestStatusCount;
+import com.gitrepository.gitrepository.dto.PullRequestSummary;
 import com.gitrepository.gitrepository.entity.PullRequestEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
+import java.util.List;
+
 @Repository
 public interface PullRequestRepository extends JpaRepository<PullRequestEntity, Long> {
 
-  @Query("SELECT COUNT(pr) FROM PullRequestEntity pr WHERE pr.status = 'Open'")
-  long countOpenPullRequests();
+  String SUMMARY = "SELECT pr.id AS id, pr.repoName AS repoName, pr.authorName AS authorName, "
+      + "pr.status AS status, pr.createdAt AS createdAt FROM PullRequestEntity pr ";
+  String AFTER = "(pr.createdAt < :createdAt OR (pr.createdAt = :createdAt AND pr.id < :id))";
+  String NEWEST_FIRST = " ORDER BY pr.createdAt DESC, pr.id DESC";
+
+  @Query(SUMMARY + NEWEST_FIRST)
+  List<PullRequestSummary> findSummaries(Pageable pageable);
+
+  @Query(SUMMARY + "WHERE pr.repoName = :repoName" + NEWEST_FIRST)
+  List<PullRequestSummary> findSummariesByRepo(@Param("repoName") String repoName, Pageable pageable);
+
+  @Query(SUMMARY + "WHERE pr.status = :status" + NEWEST_FIRST)
+  List<PullRequestSummary> findSummariesByStatus(@Param("status") String status, Pageable pageable);
+
+  @Query(SUMMARY + "WHERE pr.repoName = :repoName AND pr.status = :status" + NEWEST_FIRST)
+  List<PullRequestSummary> findSummariesByRepoAndStatus(@Param("repoName") String repoName,
+                                                        @Param("status") String status,
+                                                        Pageable pageable);
+
+  @Query(SUMMARY + "WHERE " + AFTER + NEWEST_FIRST)
+  List<PullRequestSummary> findSummariesAfter(@Param("createdAt") Timestamp createdAt,
+                                              @Param("id") Long id,
+                                              Pageable pageable);
+
+  @Query(SUMMARY + "WHERE pr.repoName = :repoName AND " + AFTER + NEWEST_FIRST)
+  List<PullRequestSummary> findSummariesByRepoAfter(@Param("repoName") String repoName,
+                                                    @Param("createdAt") Timestamp createdAt,
+                                                    @Param("id") Long id,
+                                                    Pageable pageable);
+
+  @Query(SUMMARY + "WHERE pr.status = :status AND " + AFTER + NEWEST_FIRST)
+  List<PullRequestSummary> findSummariesByStatusAfter(@Param("status") String status,
+                                                      @Param("createdAt") Timestamp createdAt,
+                                                      @Param("id") Long id,
+                                                      Pageable pageable);
+
+  @Query(SUMMARY + "WHERE pr.repoName = :repoName AND pr.status = :status AND " + AFTER + NEWEST_FIRST)
+  List<PullRequestSummary> findSummariesByRepoAndStatusAfter(@Param("repoName") String repoName,
+                                                             @Param("status") String status,
+                                                             @Param("createdAt") Timestamp createdAt,
+                                                             @Param("id") Long id,
+                                                             Pageable pageable);
+
+  @Query("SELECT pr.status AS status, COUNT(pr) AS total FROM PullRequestEntity pr GROUP BY pr.status")
+  List<PullRequestStatusCount> countByStatus();
+
+  @Query("SELECT pr.status AS status, COUNT(pr) AS total FROM PullRequestEntity pr "
+      + "WHERE pr.repoName = :repoName GROUP BY pr.status")
+  List<PullRequestStatusCount> countByStatusForRepo(@Param("repoName") String repoName);
 
-  @Query("SELECT COUNT(pr) FROM PullRequestEntity pr WHERE pr.status = 'Closed'")
-  long countClosedPullRequests();
+  @Query("SELECT pr.id FROM PullRequestEntity pr WHERE pr.analysisStatus = :analysisStatus "
+      + "AND pr.updatedAt < :before AND (pr.analysisNode = :node OR pr.analysisNode IS NULL) ORDER BY pr.id")
+  List<Long> findIdsByAnalysisStatus(@Param("analysisStatus") String analysisStatus,
+                                     @Param("before") Timestamp before,
+                                     @Param("node") String node);
 
-   @Query("SELECT COUNT(pr) FROM PullRequestEntity pr WHERE pr.pullRequestLink IS NOT NULL")
-   long countPullRequestLinks();
+  @Query("SELECT pr.repoName FROM PullRequestEntity pr WHERE pr.id = :id")
+  String findRepoNameById(@Param("id") Long id);
 
-}
\ No newline at end of file
+}
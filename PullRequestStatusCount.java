@@ -0,0 +1,7 @@
+package com.gitrepository.gitrepository.dto;
+
+public interface PullRequestStatusCount {
+  String getStatus();
+
+  long getTotal();
+}
@@ -0,0 +1,21 @@
+package com.gitrepository.gitrepository.dto;
+
+import com.gitrepository.gitrepository.entity.PullRequestEntity;
+
+import java.sql.Timestamp;
+
+public interface PullRequestSummary {
+  Long getId();
+
+  String getRepoName();
+
+  String getAuthorName();
+
+  String getStatus();
+
+  Timestamp getCreatedAt();
+
+  default String getPullRequestLink() {
+    return PullRequestEntity.linkFor(getRepoName(), getId());
+  }
+}
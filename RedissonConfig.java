@@ -4,6 +4,8 @@ package com.gitrepository.gitrepository.config;
 import org.redisson.Redisson;
 import org.redisson.api.RedissonClient;
 import org.redisson.config.Config;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -11,9 +13,10 @@ import org.springframework.context.annotation.Configuration;
 public class RedissonConfig {
 
     @Bean
-    public RedissonClient redissonClient() {
+    @ConditionalOnProperty(name = "git.lock.mode", havingValue = "redisson", matchIfMissing = true)
+    public RedissonClient redissonClient(@Value("${git.redis.address:redis://localhost:6379}") String address) {
         Config config = new Config();
-        config.useSingleServer().setAddress("redis://localhost:6379");
+        config.useSingleServer().setAddress(address);
         return Redisson.create(config);
     }
 }
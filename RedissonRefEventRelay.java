@@ -0,0 +1,60 @@
+package com.gitrepository.gitrepository.event;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+@Component
+@ConditionalOnProperty(name = "git.lock.mode", havingValue = "redisson", matchIfMissing = true)
+public class RedissonRefEventRelay {
+
+    private static final Logger LOGGER = Logger.getLogger(RedissonRefEventRelay.class.getName());
+
+    private static final String TOPIC = "git:ref-changed";
+
+    @Autowired
+    private RedissonClient redissonClient;
+
+    @Autowired
+    private RefEventPublisher refEventPublisher;
+
+    private RTopic topic;
+    private int listenerId;
+
+    @PostConstruct
+    public void subscribe() {
+        topic = redissonClient.getTopic(TOPIC);
+        listenerId = topic.addListener(RefChangedEvent.class, (channel, event) -> {
+            if (!refEventPublisher.getNodeId().equals(event.getOriginNode())) {
+                refEventPublisher.publishRemote(event);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        if (topic != null) {
+            topic.removeListener(listenerId);
+        }
+    }
+
+    @EventListener
+    public void relay(RefChangedEvent event) {
+        if (event.isRemote()) {
+            return;
+        }
+        try {
+            topic.publishAsync(event);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Failed to relay ref change of " + event.getRepoName() + ": " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.gitrepository.gitrepository.lock;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.redisson.api.RLock;
+import org.redisson.api.RReadWriteLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+@Component
+@ConditionalOnProperty(name = "git.lock.mode", havingValue = "redisson", matchIfMissing = true)
+public class RedissonRepoLockManager extends AbstractRepoLockManager {
+
+    private final RedissonClient redissonClient;
+
+    public RedissonRepoLockManager(RedissonClient redissonClient, MeterRegistry meterRegistry,
+                                   @Value("${git.lock.wait-seconds:30}") long waitSeconds) {
+        super(meterRegistry, waitSeconds);
+        this.redissonClient = redissonClient;
+    }
+
+    @Override
+    protected String mode() {
+        return "redisson";
+    }
+
+    @Override
+    protected RepoLock tryAcquire(String key, boolean write, long waitSeconds) throws InterruptedException {
+        RReadWriteLock readWriteLock = redissonClient.getReadWriteLock(key);
+        RLock lock = write ? readWriteLock.writeLock() : readWriteLock.readLock();
+        if (!lock.tryLock(waitSeconds, TimeUnit.SECONDS)) {
+            return null;
+        }
+        return new RepoLock(key, lock::unlock);
+    }
+}
@@ -0,0 +1,19 @@
+package com.gitrepository.gitrepository.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RefChangedEvent implements Serializable {
+  private String repoName;
+  private String refName;
+  private String oldId;
+  private String newId;
+  private String originNode;
+  private boolean remote;
+}
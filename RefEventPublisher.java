@@ -0,0 +1,86 @@
+package com.gitrepository.gitrepository.event;
+
+import org.eclipse.jgit.lib.AnyObjectId;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.Repository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+@Component
+public class RefEventPublisher {
+
+    private static final Logger LOGGER = Logger.getLogger(RefEventPublisher.class.getName());
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void refChanged(String repoName, String refName, AnyObjectId oldId, AnyObjectId newId) {
+        String oldName = (oldId == null ? ObjectId.zeroId() : oldId).getName();
+        String newName = (newId == null ? ObjectId.zeroId() : newId).getName();
+        if (oldName.equals(newName)) {
+            return;
+        }
+        applicationEventPublisher.publishEvent(
+                new RefChangedEvent(repoNameOf(repoName), refName, oldName, newName, nodeId, false));
+    }
+
+    public void refChanged(Repository repository, String refName, AnyObjectId oldId, AnyObjectId newId) {
+        refChanged(repository.getDirectory().getName(), refName, oldId, newId);
+    }
+
+    public void publishRemote(RefChangedEvent event) {
+        event.setRemote(true);
+        applicationEventPublisher.publishEvent(event);
+    }
+
+    public Map<String, ObjectId> snapshot(Repository repository) {
+        Map<String, ObjectId> refs = new HashMap<>();
+        try {
+            for (Ref ref : repository.getRefDatabase().getRefs()) {
+                if (!ref.isSymbolic() && ref.getObjectId() != null) {
+                    refs.put(ref.getName(), ref.getObjectId());
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to read refs of " + repository.getDirectory() + ": " + e.getMessage(), e);
+        }
+        return refs;
+    }
+
+    public void publishDifferences(Repository repository, Map<String, ObjectId> before) {
+        Map<String, ObjectId> after = snapshot(repository);
+        for (Map.Entry<String, ObjectId> entry : after.entrySet()) {
+            ObjectId previous = before.get(entry.getKey());
+            if (!Objects.equals(previous, entry.getValue())) {
+                refChanged(repository, entry.getKey(), previous, entry.getValue());
+            }
+        }
+        for (Map.Entry<String, ObjectId> entry : before.entrySet()) {
+            if (!after.containsKey(entry.getKey())) {
+                refChanged(repository, entry.getKey(), entry.getValue(), null);
+            }
+        }
+    }
+
+    static String repoNameOf(String repoName) {
+        String name = new File(repoName).getName();
+        return name.endsWith(".git") ? name.substring(0, name.length() - ".git".length()) : name;
+    }
+}
@@ -0,0 +1,173 @@
+package com.gitrepository.gitrepository.config;
+
+import com.gitrepository.gitrepository.repository.PullRequestRepository;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Component
+public class RepoAdmissionInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger LOGGER = Logger.getLogger(RepoAdmissionInterceptor.class.getName());
+
+    private static final String PERMIT_ATTRIBUTE = RepoAdmissionInterceptor.class.getName() + ".permit";
+
+    private static final Pattern REPO_NAME = Pattern.compile("[A-Za-z0-9_][A-Za-z0-9._-]*");
+
+    private static final Pattern PULL_REQUEST_PATH = Pattern.compile("/git/pullRequest/(\\d+)(/.*)?");
+
+    @Value("${git.base.directory}")
+    private String baseDirectory;
+
+    @Value("${git.admission.read-permits:16}")
+    private int readPermits;
+
+    @Value("${git.admission.write-permits:2}")
+    private int writePermits;
+
+    @Value("${git.admission.max-waiting:256}")
+    private int maxWaiting;
+
+    @Value("${git.admission.wait-millis:2000}")
+    private long waitMillis;
+
+    @Autowired
+    private PullRequestRepository pullRequestRepository;
+
+    private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            return true;
+        }
+        String repoName = resolveRepoName(request);
+        if (repoName == null || repoName.isBlank()) {
+            return true;
+        }
+
+        String name = repoName.endsWith(".git") ? repoName.substring(0, repoName.length() - 4) : repoName;
+        if (!REPO_NAME.matcher(name).matches() || !new File(baseDirectory, name + ".git").isDirectory()) {
+            return true;
+        }
+        String key = (isWrite(request) ? "write:" : "read:") + name;
+        Slot slot = slots.compute(key, (k, existing) -> {
+            Slot current = existing != null ? existing : new Slot(k.startsWith("write:") ? writePermits : readPermits);
+            current.users++;
+            return current;
+        });
+
+        if (!slot.semaphore.tryAcquire()) {
+            if (waiting.incrementAndGet() > maxWaiting) {
+                waiting.decrementAndGet();
+                release(key, false);
+                return reject(response, repoName, "admission queue is full");
+            }
+            try {
+                if (!slot.semaphore.tryAcquire(waitMillis, TimeUnit.MILLISECONDS)) {
+                    release(key, false);
+                    return reject(response, repoName, "timed out waiting for a slot");
+                }
+            } catch (InterruptedException e) {
+                release(key, false);
+                throw e;
+            } finally {
+                waiting.decrementAndGet();
+            }
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, key);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object permit = request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permit instanceof String) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            release((String) permit, true);
+        }
+    }
+
+    private void release(String key, boolean holdsPermit) {
+        slots.computeIfPresent(key, (k, slot) -> {
+            if (holdsPermit) {
+                slot.semaphore.release();
+            }
+            return --slot.users == 0 ? null : slot;
+        });
+    }
+
+    private String resolveRepoName(HttpServletRequest request) {
+        String repoName = request.getParameter("repoName");
+        if (repoName != null && !repoName.isBlank()) {
+            return repoName;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if ("/git/file-content".equals(path)) {
+            String contentPath = request.getParameter("path");
+            if (contentPath == null) {
+                return null;
+            }
+            String normalized = contentPath.replace('\\', '/');
+            while (normalized.startsWith("/")) {
+                normalized = normalized.substring(1);
+            }
+            int slash = normalized.indexOf('/');
+            return slash < 0 ? normalized : normalized.substring(0, slash);
+        }
+        Long id = null;
+        Matcher matcher = PULL_REQUEST_PATH.matcher(path);
+        if (matcher.matches()) {
+            id = Long.valueOf(matcher.group(1));
+        } else if ("/git/merge".equals(path) && request.getParameter("id") != null) {
+            try {
+                id = Long.valueOf(request.getParameter("id"));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        if (id == null) {
+            return null;
+        }
+        String pullRequestRepo = pullRequestRepository.findRepoNameById(id);
+        return pullRequestRepo == null ? null : new File(pullRequestRepo).getName();
+    }
+
+    private boolean isWrite(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod());
+    }
+
+    private boolean reject(HttpServletResponse response, String repoName, String reason) throws Exception {
+        LOGGER.info("Rejected request for " + repoName + ": " + reason);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, TimeUnit.MILLISECONDS.toSeconds(waitMillis))));
+        response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Repository " + repoName + " is busy: " + reason);
+        return false;
+    }
+
+    private static class Slot {
+
+        private final Semaphore semaphore;
+        private int users;
+
+        Slot(int permits) {
+            this.semaphore = new Semaphore(permits, true);
+        }
+    }
+}
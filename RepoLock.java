@@ -0,0 +1,25 @@
+package com.gitrepository.gitrepository.lock;
+
+public class RepoLock implements AutoCloseable {
+
+    private final String key;
+    private final Runnable release;
+    private boolean released;
+
+    public RepoLock(String key, Runnable release) {
+        this.key = key;
+        this.release = release;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    @Override
+    public void close() {
+        if (!released) {
+            released = true;
+            release.run();
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.gitrepository.gitrepository.lock;
+
+public interface RepoLockManager {
+
+    RepoLock readLock(String repoName);
+
+    RepoLock writeLock(String repoName);
+}
@@ -0,0 +1,269 @@
+package com.gitrepository.gitrepository.service;
+
+import com.gitrepository.gitrepository.dto.RepositoryCatalogDto;
+import com.gitrepository.gitrepository.entity.RepositoryCatalogEntity;
+import com.gitrepository.gitrepository.event.RefChangedEvent;
+import com.gitrepository.gitrepository.repository.RepositoryCatalogRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+@Component
+public class RepositoryCatalog {
+
+    private static final Logger LOGGER = Logger.getLogger(RepositoryCatalog.class.getName());
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private static final Map<String, String> SORT_PROPERTIES = Map.of(
+            "name", "repoName",
+            "size", "sizeBytes",
+            "branches", "branchCount",
+            "lastPush", "lastPushAt",
+            "lastCommit", "lastCommitAt");
+
+    @Value("${git.base.directory}")
+    private String baseDirectory;
+
+    @Value("${git.catalog.reconcile-on-startup:true}")
+    private boolean reconcileOnStartup;
+
+    @Autowired
+    private RepositoryCatalogRepository repositoryCatalogRepository;
+
+    @Autowired
+    private RepositoryHandleCache repositoryHandleCache;
+
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "repository-catalog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public void populateIfEmpty() {
+        // Runs before the web server accepts requests, so a fresh deployment never serves an empty listing.
+        // Only the names go in here; describing every repository is left to the reconcile after startup.
+        if (reconcileOnStartup && repositoryCatalogRepository.count() == 0) {
+            List<RepositoryCatalogEntity> entries = new ArrayList<>();
+            for (String repoName : listRepositoriesOnDisk()) {
+                entries.add(RepositoryCatalogEntity.builder().repoName(repoName).build());
+            }
+            repositoryCatalogRepository.saveAll(entries);
+            LOGGER.info("Repository catalog seeded with " + entries.size() + " repositories");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @EventListener
+    public void onRefChanged(RefChangedEvent event) {
+        if (!event.isRemote()) {
+            scheduleRefresh(event.getRepoName(), true);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (reconcileOnStartup) {
+            executor.execute(this::reconcile);
+        }
+    }
+
+    public void scheduleRefresh(String repoName) {
+        scheduleRefresh(repoName, false);
+    }
+
+    private void scheduleRefresh(String repoName, boolean pushed) {
+        String key = (pushed ? "push:" : "scan:") + repoName;
+        if (!pending.add(key)) {
+            return;
+        }
+        executor.execute(() -> {
+            pending.remove(key);
+            refresh(repoName, pushed);
+        });
+    }
+
+    public List<String> getRepositoryNames() {
+        return repositoryCatalogRepository.findAllRepoNames();
+    }
+
+    public Map<String, Timestamp> getLastPushTimes() {
+        Map<String, Timestamp> lastPushTimes = new HashMap<>();
+        for (Object[] row : repositoryCatalogRepository.findAllLastPushTimes()) {
+            lastPushTimes.put((String) row[0], (Timestamp) row[1]);
+        }
+        return lastPushTimes;
+    }
+
+    public Page<RepositoryCatalogDto> page(String prefix, int page, int size, String sort, String direction) {
+        String property = SORT_PROPERTIES.get(sort == null ? "name" : sort);
+        if (property == null) {
+            throw new IllegalArgumentException("Unsupported sort: " + sort + ", expected one of " + SORT_PROPERTIES.keySet());
+        }
+        Sort.Direction sortDirection = "desc".equalsIgnoreCase(direction) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort order = Sort.by(sortDirection, property);
+        if (!"repoName".equals(property)) {
+            order = order.and(Sort.by(Sort.Direction.ASC, "repoName"));
+        }
+        PageRequest pageRequest = PageRequest.of(Math.max(0, page), Math.max(1, Math.min(size, MAX_PAGE_SIZE)), order);
+        return repositoryCatalogRepository.findByRepoNameStartingWith(prefix == null ? "" : prefix, pageRequest)
+                .map(this::toDto);
+    }
+
+    void refresh(String repoName, boolean pushed) {
+        File gitDir = new File(baseDirectory, repoName + ".git");
+        if (!gitDir.isDirectory()) {
+            if (repositoryCatalogRepository.existsById(repoName)) {
+                LOGGER.info("Removing " + repoName + " from the repository catalog");
+                repositoryCatalogRepository.deleteById(repoName);
+            }
+            return;
+        }
+        try (RepositoryHandle handle = repositoryHandleCache.open(repoName)) {
+            RepositoryCatalogEntity entry = repositoryCatalogRepository.findById(repoName)
+                    .orElseGet(() -> RepositoryCatalogEntity.builder().repoName(repoName).build());
+            describe(handle.getRepository(), entry);
+            entry.setSizeBytes(sizeOf(handle.getRepository()));
+            Timestamp now = Timestamp.from(Instant.now());
+            if (pushed) {
+                entry.setLastPushAt(now);
+            }
+            entry.setUpdatedAt(now);
+            repositoryCatalogRepository.save(entry);
+        } catch (IOException | GitAPIException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Failed to refresh catalog entry for " + repoName + ": " + e.getMessage(), e);
+        }
+    }
+
+    private void reconcile() {
+        Set<String> onDisk = listRepositoriesOnDisk();
+        int changed = 0;
+        for (RepositoryCatalogEntity entry : repositoryCatalogRepository.findAll()) {
+            String repoName = entry.getRepoName();
+            if (!onDisk.remove(repoName) || !isCurrent(repoName, entry)) {
+                refresh(repoName, false);
+                changed++;
+            }
+        }
+        for (String repoName : onDisk) {
+            refresh(repoName, false);
+        }
+        LOGGER.info("Repository catalog reconciled, added " + onDisk.size() + " and refreshed " + changed
+                + " repositories");
+    }
+
+    private Set<String> listRepositoriesOnDisk() {
+        File[] entries = new File(baseDirectory).listFiles(file -> file.isDirectory()
+                && file.getName().endsWith(".git") && !file.getName().contains("-temp-"));
+        Set<String> onDisk = new HashSet<>();
+        if (entries != null) {
+            for (File entry : entries) {
+                String name = entry.getName();
+                onDisk.add(name.substring(0, name.length() - ".git".length()));
+            }
+        }
+        return onDisk;
+    }
+
+    private boolean isCurrent(String repoName, RepositoryCatalogEntity entry) {
+        try (RepositoryHandle handle = repositoryHandleCache.open(repoName)) {
+            Repository repository = handle.getRepository();
+            Ref head = repository.exactRef(Constants.HEAD);
+            String defaultBranch = head != null && head.isSymbolic()
+                    ? Repository.shortenRefName(head.getTarget().getName())
+                    : null;
+            ObjectId tip = head == null ? null : head.getObjectId();
+            return Objects.equals(entry.getDefaultBranch(), defaultBranch)
+                    && Objects.equals(entry.getLastCommitId(), tip == null ? null : tip.getName())
+                    && entry.getBranchCount() == repository.getRefDatabase().getRefsByPrefix(Constants.R_HEADS).size();
+        } catch (IOException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    private void describe(Repository repository, RepositoryCatalogEntity entry) throws IOException {
+        entry.setBranchCount(repository.getRefDatabase().getRefsByPrefix(Constants.R_HEADS).size());
+        Ref head = repository.exactRef(Constants.HEAD);
+        entry.setDefaultBranch(head != null && head.isSymbolic()
+                ? Repository.shortenRefName(head.getTarget().getName())
+                : null);
+        ObjectId tip = head == null ? null : head.getObjectId();
+        if (tip == null) {
+            entry.setLastCommitId(null);
+            entry.setLastCommitAuthor(null);
+            entry.setLastCommitAt(null);
+            return;
+        }
+        try (RevWalk revWalk = new RevWalk(repository)) {
+            RevCommit commit = revWalk.parseCommit(tip);
+            entry.setLastCommitId(commit.getName());
+            entry.setLastCommitAuthor(commit.getAuthorIdent().getName());
+            entry.setLastCommitAt(new Timestamp(commit.getCommitTime() * 1000L));
+        }
+    }
+
+    // Pack and loose object sizes from JGit's repository statistics, the same figures maintenance reports,
+    // rather than walking every file under the repository on each push.
+    private long sizeOf(Repository repository) throws GitAPIException {
+        Properties statistics = Git.wrap(repository).gc().getStatistics();
+        return statistic(statistics, "sizeOfPackedObjects") + statistic(statistics, "sizeOfLooseObjects");
+    }
+
+    private static long statistic(Properties statistics, String name) {
+        Object value = statistics.get(name);
+        return value instanceof Number ? ((Number) value).longValue() : 0L;
+    }
+
+    private RepositoryCatalogDto toDto(RepositoryCatalogEntity entity) {
+        return RepositoryCatalogDto.builder()
+                .repoName(entity.getRepoName())
+                .sizeBytes(entity.getSizeBytes())
+                .branchCount(entity.getBranchCount())
+                .defaultBranch(entity.getDefaultBranch())
+                .lastCommitId(entity.getLastCommitId())
+                .lastCommitAuthor(entity.getLastCommitAuthor())
+                .lastCommitAt(entity.getLastCommitAt() == null ? null : entity.getLastCommitAt().toInstant().toString())
+                .lastPushAt(entity.getLastPushAt() == null ? null : entity.getLastPushAt().toInstant().toString())
+                .build();
+    }
+}
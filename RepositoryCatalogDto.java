@@ -0,0 +1,21 @@
+package com.gitrepository.gitrepository.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RepositoryCatalogDto {
+  private String repoName;
+  private long sizeBytes;
+  private int branchCount;
+  private String defaultBranch;
+  private String lastCommitId;
+  private String lastCommitAuthor;
+  private String lastCommitAt;
+  private String lastPushAt;
+}
@@ -0,0 +1,37 @@
+package com.gitrepository.gitrepository.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+
+@Entity
+@Table(name = "repository_catalog", indexes = {
+    @Index(name = "idx_repository_catalog_size", columnList = "size_bytes, repo_name"),
+    @Index(name = "idx_repository_catalog_last_push", columnList = "last_push_at, repo_name"),
+    @Index(name = "idx_repository_catalog_last_commit", columnList = "last_commit_at, repo_name")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RepositoryCatalogEntity {
+  @Id
+  private String repoName;
+  private long sizeBytes;
+  private int branchCount;
+  private String defaultBranch;
+  @Column(length = 64)
+  private String lastCommitId;
+  private String lastCommitAuthor;
+  private Timestamp lastCommitAt;
+  private Timestamp lastPushAt;
+  private Timestamp updatedAt;
+}
@@ -0,0 +1,23 @@
+package com.gitrepository.gitrepository.repository;
+
+import com.gitrepository.gitrepository.entity.RepositoryCatalogEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RepositoryCatalogRepository extends JpaRepository<RepositoryCatalogEntity, String> {
+
+  Page<RepositoryCatalogEntity> findByRepoNameStartingWith(String prefix, Pageable pageable);
+
+  @Query("SELECT r.repoName FROM RepositoryCatalogEntity r ORDER BY r.repoName")
+  List<String> findAllRepoNames();
+
+  @Query("SELECT r.repoName, r.lastPushAt FROM RepositoryCatalogEntity r")
+  List<Object[]> findAllLastPushTimes();
+
+}
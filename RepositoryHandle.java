@@ -0,0 +1,30 @@
+package com.gitrepository.gitrepository.service;
+
+import org.eclipse.jgit.lib.Repository;
+
+public class RepositoryHandle implements AutoCloseable {
+
+    private final RepositoryHandleCache cache;
+    private final RepositoryHandleCache.CachedRepository cachedRepository;
+    private boolean closed;
+
+    RepositoryHandle(RepositoryHandleCache cache, RepositoryHandleCache.CachedRepository cachedRepository) {
+        this.cache = cache;
+        this.cachedRepository = cachedRepository;
+    }
+
+    public Repository getRepository() {
+        if (closed) {
+            throw new IllegalStateException("Repository handle is already closed");
+        }
+        return cachedRepository.getRepository();
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            cache.release(cachedRepository);
+        }
+    }
+}
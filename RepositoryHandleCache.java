@@ -0,0 +1,204 @@
+package com.gitrepository.gitrepository.service;
+
+import com.gitrepository.gitrepository.event.RefChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.eclipse.jgit.errors.RepositoryNotFoundException;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.RepositoryCache;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.util.FS;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class RepositoryHandleCache {
+
+    @Value("${git.base.directory}")
+    private String baseDirectory;
+
+    @Value("${git.repository-cache.max-size:64}")
+    private int maxSize;
+
+    @Value("${git.repository-cache.idle-expiry-seconds:300}")
+    private long idleExpirySeconds;
+
+    private final Map<File, CachedRepository> repositories = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private ScheduledExecutorService evictionScheduler;
+
+    @PostConstruct
+    public void startEviction() {
+        evictionScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "repository-cache-eviction");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, idleExpirySeconds / 2);
+        evictionScheduler.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        if (evictionScheduler != null) {
+            evictionScheduler.shutdownNow();
+        }
+        lock.lock();
+        try {
+            for (CachedRepository cachedRepository : repositories.values()) {
+                retire(cachedRepository);
+            }
+            repositories.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Another node moved a ref on the shared storage; reopen instead of trusting this node's cached ref and pack state.
+    @EventListener
+    public void onRefChanged(RefChangedEvent event) {
+        if (event.isRemote()) {
+            invalidate(event.getRepoName());
+        }
+    }
+
+    public RepositoryHandle open(String repoName) throws IOException {
+        File gitDir = resolveGitDir(repoName);
+        CachedRepository cachedRepository;
+        List<CachedRepository> evicted;
+        lock.lock();
+        try {
+            cachedRepository = repositories.get(gitDir);
+            if (cachedRepository == null) {
+                Repository repository = new FileRepositoryBuilder()
+                        .setGitDir(gitDir)
+                        .setMustExist(true)
+                        .build();
+                cachedRepository = new CachedRepository(repository);
+                repositories.put(gitDir, cachedRepository);
+            }
+            cachedRepository.refCount++;
+            evicted = evictOverflow();
+        } finally {
+            lock.unlock();
+        }
+        evicted.forEach(this::retire);
+        return new RepositoryHandle(this, cachedRepository);
+    }
+
+    public void invalidate(String repoName) {
+        File gitDir;
+        try {
+            gitDir = resolveGitDir(repoName);
+        } catch (IOException e) {
+            return;
+        }
+        CachedRepository cachedRepository;
+        lock.lock();
+        try {
+            cachedRepository = repositories.remove(gitDir);
+        } finally {
+            lock.unlock();
+        }
+        if (cachedRepository != null) {
+            retire(cachedRepository);
+        }
+    }
+
+    void release(CachedRepository cachedRepository) {
+        lock.lock();
+        try {
+            cachedRepository.refCount--;
+            cachedRepository.lastReleased = System.nanoTime();
+            if (cachedRepository.retired && cachedRepository.refCount == 0) {
+                cachedRepository.repository.close();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private File resolveGitDir(String repoName) throws IOException {
+        File requested = new File(baseDirectory, repoName);
+        File gitDir = RepositoryCache.FileKey.resolve(requested, FS.DETECTED);
+        if (gitDir == null) {
+            throw new RepositoryNotFoundException(requested);
+        }
+        return gitDir.getCanonicalFile();
+    }
+
+    private List<CachedRepository> evictOverflow() {
+        List<CachedRepository> evicted = new ArrayList<>();
+        Iterator<CachedRepository> iterator = repositories.values().iterator();
+        while (repositories.size() - evicted.size() > maxSize && iterator.hasNext()) {
+            CachedRepository candidate = iterator.next();
+            if (candidate.refCount == 0) {
+                iterator.remove();
+                evicted.add(candidate);
+            }
+        }
+        return evicted;
+    }
+
+    private void evictIdle() {
+        long idleNanos = TimeUnit.SECONDS.toNanos(idleExpirySeconds);
+        long now = System.nanoTime();
+        List<CachedRepository> evicted = new ArrayList<>();
+        lock.lock();
+        try {
+            Iterator<CachedRepository> iterator = repositories.values().iterator();
+            while (iterator.hasNext()) {
+                CachedRepository candidate = iterator.next();
+                if (candidate.refCount == 0 && now - candidate.lastReleased > idleNanos) {
+                    iterator.remove();
+                    evicted.add(candidate);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        evicted.forEach(this::retire);
+    }
+
+    private void retire(CachedRepository cachedRepository) {
+        lock.lock();
+        try {
+            cachedRepository.retired = true;
+            if (cachedRepository.refCount == 0) {
+                cachedRepository.repository.close();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static class CachedRepository {
+
+        private final Repository repository;
+        private int refCount;
+        private long lastReleased = System.nanoTime();
+        private boolean retired;
+
+        CachedRepository(Repository repository) {
+            this.repository = repository;
+        }
+
+        Repository getRepository() {
+            return repository;
+        }
+    }
+}
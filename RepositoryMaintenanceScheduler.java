@@ -0,0 +1,271 @@
+package com.gitrepository.gitrepository.service;
+
+import com.gitrepository.gitrepository.dto.MaintenanceReportDto;
+import com.gitrepository.gitrepository.lock.RepoLock;
+import com.gitrepository.gitrepository.lock.RepoLockManager;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.internal.storage.file.FileRepository;
+import org.eclipse.jgit.internal.storage.file.GC;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.storage.pack.PackConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+@Component
+public class RepositoryMaintenanceScheduler {
+
+    private static final Logger LOGGER = Logger.getLogger(RepositoryMaintenanceScheduler.class.getName());
+
+    private static final int MAX_REPORTS = 100;
+
+    private static final Timestamp NEVER_PUSHED = new Timestamp(0L);
+
+    @Value("${git.maintenance.enabled:true}")
+    private boolean enabled;
+
+    @Value("${git.maintenance.interval-minutes:60}")
+    private long intervalMinutes;
+
+    @Value("${git.maintenance.window-start-hour:1}")
+    private int windowStartHour;
+
+    @Value("${git.maintenance.window-end-hour:5}")
+    private int windowEndHour;
+
+    @Value("${git.maintenance.loose-object-threshold:1000}")
+    private long looseObjectThreshold;
+
+    @Value("${git.maintenance.pack-threshold:20}")
+    private long packThreshold;
+
+    @Value("${git.maintenance.loose-ref-threshold:100}")
+    private long looseRefThreshold;
+
+    @Value("${git.maintenance.pack-threads:1}")
+    private int packThreads;
+
+    @Value("${git.maintenance.duty-cycle:0.5}")
+    private double dutyCycle;
+
+    @Value("${git.maintenance.prune-expire-hours:24}")
+    private long pruneExpireHours;
+
+    @Autowired
+    private RepoLockManager repoLockManager;
+
+    @Autowired
+    private RepositoryHandleCache repositoryHandleCache;
+
+    @Autowired
+    private GitMetrics gitMetrics;
+
+    @Autowired
+    private RepositoryCatalog repositoryCatalog;
+
+    private final Deque<MaintenanceReportDto> reports = new ArrayDeque<>();
+
+    // Catalog lastPushAt seen when each repository was last scanned; unchanged repositories are not rescanned.
+    private final Map<String, Timestamp> scannedAt = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "repository-maintenance");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runIfOffPeak, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public List<MaintenanceReportDto> getReports() {
+        synchronized (reports) {
+            return new ArrayList<>(reports);
+        }
+    }
+
+    public MaintenanceReportDto maintain(String repoName) {
+        return maintain(repoName, null);
+    }
+
+    private MaintenanceReportDto maintain(String repoName, Properties before) {
+        MaintenanceReportDto report = MaintenanceReportDto.builder().repoName(repoName).build();
+        long start = System.nanoTime();
+        try (RepoLock lock = repoLockManager.writeLock(repoName);
+             RepositoryHandle handle = repositoryHandleCache.open(repoName);
+             Git git = Git.wrap(handle.getRepository())) {
+            Repository repository = handle.getRepository();
+            PackConfig packConfig = new PackConfig(repository);
+            packConfig.setThreads(packThreads);
+            packConfig.setBuildBitmaps(true);
+
+            if (before == null) {
+                before = git.gc().getStatistics();
+            }
+            report.setLooseObjectsBefore(statistic(before, "numberOfLooseObjects"));
+            report.setPackFilesBefore(statistic(before, "numberOfPackFiles"));
+            report.setLooseRefsBefore(statistic(before, "numberOfLooseRefs"));
+            report.setBytesBefore(statistic(before, "sizeOfLooseObjects") + statistic(before, "sizeOfPackedObjects"));
+
+            // GarbageCollectCommand cannot take a PackConfig, so drive JGit's (internal) GC directly
+            // rather than writing pack.* settings into the shared repository config.
+            GC gc = new GC((FileRepository) repository);
+            gc.setPackConfig(packConfig);
+            gc.setExpire(new Date(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(pruneExpireHours)));
+            gc.gc().join();
+
+            Properties after = git.gc().getStatistics();
+            report.setLooseObjectsAfter(statistic(after, "numberOfLooseObjects"));
+            report.setPackFilesAfter(statistic(after, "numberOfPackFiles"));
+            report.setLooseRefsAfter(statistic(after, "numberOfLooseRefs"));
+            report.setBytesAfter(statistic(after, "sizeOfLooseObjects") + statistic(after, "sizeOfPackedObjects"));
+        } catch (IOException | GitAPIException | ParseException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Maintenance of " + repoName + " failed: " + e.getMessage(), e);
+            report.setError(e.getMessage());
+        } finally {
+            repositoryHandleCache.invalidate(repoName);
+        }
+        repositoryCatalog.scheduleRefresh(repoName);
+
+        long durationNanos = System.nanoTime() - start;
+        report.setDurationMillis(TimeUnit.NANOSECONDS.toMillis(durationNanos));
+        report.setFinishedAt(Instant.now().toString());
+        gitMetrics.recordMaintenance(repoName, durationNanos, report.getBytesBefore(), report.getBytesAfter(),
+                report.getError() == null);
+        LOGGER.info("Maintained " + repoName + " in " + report.getDurationMillis() + " ms: loose objects "
+                + report.getLooseObjectsBefore() + " -> " + report.getLooseObjectsAfter() + ", packs "
+                + report.getPackFilesBefore() + " -> " + report.getPackFilesAfter() + ", bytes "
+                + report.getBytesBefore() + " -> " + report.getBytesAfter());
+        synchronized (reports) {
+            reports.addFirst(report);
+            while (reports.size() > MAX_REPORTS) {
+                reports.removeLast();
+            }
+        }
+        return report;
+    }
+
+    private void runIfOffPeak() {
+        try {
+            if (!isOffPeak()) {
+                return;
+            }
+            List<Candidate> candidates = findCandidates();
+            for (Candidate candidate : candidates) {
+                if (!isOffPeak() || Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                MaintenanceReportDto report = maintain(candidate.repoName, candidate.statistics);
+                if (report.getError() == null) {
+                    scannedAt.put(candidate.repoName, candidate.lastPushAt);
+                }
+                throttle(report.getDurationMillis());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Repository maintenance run failed: " + e.getMessage(), e);
+        }
+    }
+
+    private List<Candidate> findCandidates() {
+        List<Candidate> candidates = new ArrayList<>();
+        Map<String, Timestamp> lastPushTimes = repositoryCatalog.getLastPushTimes();
+        scannedAt.keySet().retainAll(lastPushTimes.keySet());
+        for (Map.Entry<String, Timestamp> entry : lastPushTimes.entrySet()) {
+            String repoName = entry.getKey();
+            Timestamp lastPushAt = entry.getValue() == null ? NEVER_PUSHED : entry.getValue();
+            if (lastPushAt.equals(scannedAt.get(repoName))) {
+                continue;
+            }
+            try (RepositoryHandle handle = repositoryHandleCache.open(repoName);
+                 Git git = Git.wrap(handle.getRepository())) {
+                Properties statistics = git.gc().getStatistics();
+                long looseObjects = statistic(statistics, "numberOfLooseObjects");
+                if (looseObjects >= looseObjectThreshold
+                        || statistic(statistics, "numberOfPackFiles") >= packThreshold
+                        || statistic(statistics, "numberOfLooseRefs") >= looseRefThreshold) {
+                    candidates.add(new Candidate(repoName, looseObjects, statistics, lastPushAt));
+                } else {
+                    scannedAt.put(repoName, lastPushAt);
+                }
+            } catch (IOException | GitAPIException e) {
+                LOGGER.log(Level.FINE, "Skipping maintenance scan of " + repoName + ": " + e.getMessage(), e);
+            }
+        }
+        candidates.sort(Comparator.comparingLong((Candidate candidate) -> candidate.looseObjects).reversed());
+        return candidates;
+    }
+
+    private boolean isOffPeak() {
+        int hour = LocalTime.now().getHour();
+        if (windowStartHour <= windowEndHour) {
+            return hour >= windowStartHour && hour < windowEndHour;
+        }
+        return hour >= windowStartHour || hour < windowEndHour;
+    }
+
+    private void throttle(long busyMillis) throws InterruptedException {
+        if (dutyCycle <= 0 || dutyCycle >= 1) {
+            return;
+        }
+        long idleMillis = (long) (busyMillis * (1 - dutyCycle) / dutyCycle);
+        Thread.sleep(idleMillis);
+    }
+
+    private static long statistic(Properties statistics, String name) {
+        Object value = statistics.get(name);
+        return value instanceof Number ? ((Number) value).longValue() : 0L;
+    }
+
+    private static class Candidate {
+
+        private final String repoName;
+        private final long looseObjects;
+        private final Properties statistics;
+        private final Timestamp lastPushAt;
+
+        Candidate(String repoName, long looseObjects, Properties statistics, Timestamp lastPushAt) {
+            this.repoName = repoName;
+            this.looseObjects = looseObjects;
+            this.statistics = statistics;
+            this.lastPushAt = lastPushAt;
+        }
+    }
+}
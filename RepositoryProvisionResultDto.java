@@ -0,0 +1,17 @@
+package com.gitrepository.gitrepository.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RepositoryProvisionResultDto {
+  private String repoName;
+  private boolean created;
+  private String error;
+  private long durationMillis;
+}
@@ -0,0 +1,36 @@
+package com.gitrepository.gitrepository.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class RepositoryProvisioningExecutor {
+
+    private final ThreadPoolExecutor executor;
+
+    public RepositoryProvisioningExecutor(@Value("${git.provisioning.threads:4}") int threads,
+                                          @Value("${git.provisioning.queue-capacity:64}") int queueCapacity,
+                                          @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                PullRequestAnalysisExecutor.threadFactory("repo-provisioning-", virtualThreads),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public <T> Future<T> submit(Callable<T> job) {
+        return executor.submit(job);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
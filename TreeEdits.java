@@ -0,0 +1,117 @@
+package com.gitrepository.gitrepository.service;
+
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class TreeEdits {
+
+    public enum Action {
+        PUT, CREATE, UPDATE, DELETE, MOVE, CHMOD
+    }
+
+    private final List<Operation> operations = new ArrayList<>();
+
+    public void put(String path, ObjectId blobId) {
+        put(path, blobId, null);
+    }
+
+    public void put(String path, ObjectId blobId, FileMode fileMode) {
+        operations.add(new Operation(Action.PUT, normalizePath(path), null, blobId, fileMode));
+    }
+
+    public void create(String path, ObjectId blobId, FileMode fileMode) {
+        operations.add(new Operation(Action.CREATE, normalizePath(path), null, blobId, fileMode));
+    }
+
+    public void update(String path, ObjectId blobId, FileMode fileMode) {
+        operations.add(new Operation(Action.UPDATE, normalizePath(path), null, blobId, fileMode));
+    }
+
+    public void delete(String path) {
+        operations.add(new Operation(Action.DELETE, normalizePath(path), null, null, null));
+    }
+
+    public void move(String fromPath, String toPath) {
+        String from = normalizePath(fromPath);
+        String to = normalizePath(toPath);
+        if (from.equals(to)) {
+            throw new IllegalArgumentException("Source and target path must be different: " + from);
+        }
+        operations.add(new Operation(Action.MOVE, to, from, null, null));
+    }
+
+    public void chmod(String path, FileMode fileMode) {
+        operations.add(new Operation(Action.CHMOD, normalizePath(path), null, null, fileMode));
+    }
+
+    public List<Operation> getOperations() {
+        return Collections.unmodifiableList(operations);
+    }
+
+    public boolean isEmpty() {
+        return operations.isEmpty();
+    }
+
+    static String normalizePath(String path) {
+        if (path == null) {
+            throw new IllegalArgumentException("File path is Empty .");
+        }
+        String normalized = normalizePathOrRoot(path);
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("File path is Empty .");
+        }
+        return normalized;
+    }
+
+    static String normalizePathOrRoot(String path) {
+        String normalized = path.replace('\\', '/');
+        while (normalized.startsWith("/")) {
+            normalized = normalized.substring(1);
+        }
+        while (normalized.endsWith("/")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        return normalized;
+    }
+
+    public static class Operation {
+
+        private final Action action;
+        private final String path;
+        private final String sourcePath;
+        private final ObjectId blobId;
+        private final FileMode fileMode;
+
+        Operation(Action action, String path, String sourcePath, ObjectId blobId, FileMode fileMode) {
+            this.action = action;
+            this.path = path;
+            this.sourcePath = sourcePath;
+            this.blobId = blobId;
+            this.fileMode = fileMode;
+        }
+
+        public Action getAction() {
+            return action;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public String getSourcePath() {
+            return sourcePath;
+        }
+
+        public ObjectId getBlobId() {
+            return blobId;
+        }
+
+        public FileMode getFileMode() {
+            return fileMode;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.gitrepository.gitrepository.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TreeEntryDto {
+  private String name;
+  private String path;
+  private String type;
+  private String mode;
+  private String objectId;
+  private Long size;
+}
@@ -1,13 +1,25 @@
 package com.gitrepository.gitrepository.config;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebConfig {
 
+    @Autowired
+    private RepoAdmissionInterceptor repoAdmissionInterceptor;
+
+    @Value("${git.admission.enabled:#{null}}")
+    private Boolean admissionEnabled;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
     @Bean
     public WebMvcConfigurer corsConfigurer() {
         return new WebMvcConfigurer() {
@@ -19,6 +31,14 @@ public class WebConfig {
                         .allowedHeaders("*")
                         .allowCredentials(true);
             }
+
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                boolean enabled = admissionEnabled != null ? admissionEnabled : virtualThreads;
+                if (enabled) {
+                    registry.addInterceptor(repoAdmissionInterceptor).addPathPatterns("/git/**");
+                }
+            }
         };
     }
 }
@@ -0,0 +1,28 @@
+package com.gitrepository.gitrepository.service;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws RunnerException {
+        String result = args.length > 0 ? args[0] : "benchmarks/results/jmh-result.json";
+        String include = args.length > 1 ? args[1] : GitServiceBenchmark.class.getSimpleName();
+        File parent = new File(result).getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IllegalStateException("Cannot create result directory " + parent);
+        }
+
+        Options options = new OptionsBuilder()
+                .include(include)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,249 @@
+package com.gitrepository.gitrepository.service;
+
+import com.gitrepository.gitrepository.GitrepositoryApplication;
+import com.gitrepository.gitrepository.config.DateTimeUtils;
+import com.gitrepository.gitrepository.dto.CommitDto;
+import com.gitrepository.gitrepository.dto.ConsolidatedStatusDto;
+import com.gitrepository.gitrepository.dto.FileDto;
+import com.gitrepository.gitrepository.dto.ModifiedFileDto;
+import com.gitrepository.gitrepository.entity.PullRequestEntity;
+import com.gitrepository.gitrepository.repository.PullRequestRepository;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.RefUpdate;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GitServiceBenchmark {
+
+    static final String REPO = "synthetic";
+    static final String ADD_BRANCH = "bench-add";
+    static final String CLEAN_BRANCH = "feature-1";
+
+    @Param({"1000"})
+    public int fileCount;
+
+    @Param({"200"})
+    public int historyDepth;
+
+    @Param({"4"})
+    public int branchFanOut;
+
+    @Param({"2048"})
+    public int blobSize;
+
+    @Param({"42"})
+    public long seed;
+
+    private Path baseDirectory;
+    private ConfigurableApplicationContext context;
+    private GitService gitService;
+    private DiffRenderer diffRenderer;
+    private PullRequestRepository pullRequestRepository;
+    private Repository repository;
+    private ObjectId mainTree;
+    private ObjectId featureTree;
+    private String[] diffLines;
+    private int sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // feature-0 conflicts with main; the clean-merge benchmarks need a second feature branch.
+        if (branchFanOut < 2) {
+            throw new IllegalArgumentException("branchFanOut must be at least 2, was " + branchFanOut);
+        }
+        baseDirectory = Files.createTempDirectory("git-benchmark-");
+        new SyntheticRepositoryGenerator(fileCount, historyDepth, branchFanOut, blobSize, seed)
+                .generate(baseDirectory.toFile(), REPO);
+
+        context = new SpringApplicationBuilder(GitrepositoryApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "git.base.directory=" + baseDirectory.toAbsolutePath(),
+                        "git.lock.mode=local",
+                        "spring.datasource.url=jdbc:h2:mem:git-benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.main.banner-mode=off")
+                .run();
+        gitService = context.getBean(GitService.class);
+        diffRenderer = context.getBean(DiffRenderer.class);
+        pullRequestRepository = context.getBean(PullRequestRepository.class);
+
+        repository = new FileRepositoryBuilder()
+                .setGitDir(new File(baseDirectory.toFile(), REPO + ".git"))
+                .setMustExist(true)
+                .build();
+        mainTree = repository.resolve(SyntheticRepositoryGenerator.MAIN_BRANCH + "^{tree}");
+        featureTree = repository.resolve(CLEAN_BRANCH + "^{tree}");
+        diffLines = syntheticDiffLines(new Random(seed), 20_000);
+    }
+
+    // Every iteration appends to bench-add from the same main tip, so later iterations do not measure a bigger tree.
+    @Setup(Level.Iteration)
+    public void resetAddBranch() throws IOException {
+        branch(ADD_BRANCH, SyntheticRepositoryGenerator.MAIN_BRANCH);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        repository.close();
+        context.close();
+        try (Stream<Path> paths = Files.walk(baseDirectory)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public List<CommitDto> commitLog() throws Exception {
+        return gitService.commitLog(REPO, SyntheticRepositoryGenerator.MAIN_BRANCH);
+    }
+
+    @Benchmark
+    public List<FileDto> getRepositoryFiles() throws Exception {
+        return gitService.getRepositoryFiles(REPO, SyntheticRepositoryGenerator.MAIN_BRANCH);
+    }
+
+    @Benchmark
+    public List<ModifiedFileDto> getModifiedFiles() throws IOException {
+        return diffRenderer.render(repository, diffRenderer.scan(repository, mainTree, featureTree), REPO);
+    }
+
+    @Benchmark
+    public List<ModifiedFileDto> fileChangesCached() throws Exception {
+        return gitService.fileChanges(REPO, CLEAN_BRANCH, SyntheticRepositoryGenerator.MAIN_BRANCH);
+    }
+
+    @Benchmark
+    public String formatDiffLines() {
+        return diffRenderer.formatDiffLines(diffLines);
+    }
+
+    @Benchmark
+    public ConsolidatedStatusDto addFile() throws Exception {
+        int id = sequence++;
+        return gitService.addFile(REPO, ADD_BRANCH, "bench/Added" + id + ".txt",
+                "added " + id, null, "Benchmark add " + id);
+    }
+
+    @Benchmark
+    public Map<String, Object> getConflictContent() {
+        return gitService.getConflictContent(REPO, SyntheticRepositoryGenerator.CONFLICT_BRANCH,
+                SyntheticRepositoryGenerator.MAIN_BRANCH);
+    }
+
+    @Benchmark
+    public Map<String, Object> getConflictContentClean() {
+        return gitService.getConflictContent(REPO, CLEAN_BRANCH, SyntheticRepositoryGenerator.MAIN_BRANCH);
+    }
+
+    @State(Scope.Thread)
+    public static class MergeState {
+
+        private Long pullRequestId;
+        private String sourceBranch;
+        private String targetBranch;
+
+        @Setup(Level.Invocation)
+        public void preparePullRequest(GitServiceBenchmark benchmark) throws IOException {
+            int id = benchmark.sequence++;
+            sourceBranch = "merge-source-" + id;
+            targetBranch = "merge-target-" + id;
+            benchmark.branch(sourceBranch, CLEAN_BRANCH);
+            benchmark.branch(targetBranch, SyntheticRepositoryGenerator.MAIN_BRANCH);
+
+            PullRequestEntity pullRequest = new PullRequestEntity();
+            pullRequest.setTitle("Benchmark merge " + id);
+            pullRequest.setRepoName(REPO);
+            pullRequest.setAuthorName("Benchmark");
+            pullRequest.setSourceBranch(sourceBranch);
+            pullRequest.setTargetBranch(targetBranch);
+            pullRequest.setStatus("Open");
+            pullRequest.setCreatedAt(DateTimeUtils.getCurrentTimeInUTATimezone());
+            pullRequest.setUpdatedAt(pullRequest.getCreatedAt());
+            pullRequestId = benchmark.pullRequestRepository.save(pullRequest).getId();
+        }
+
+        // Drop the per-invocation refs and row again so the ref database and table stay the size they started at.
+        @TearDown(Level.Invocation)
+        public void removePullRequest(GitServiceBenchmark benchmark) throws IOException {
+            benchmark.deleteBranch(sourceBranch);
+            benchmark.deleteBranch(targetBranch);
+            benchmark.pullRequestRepository.deleteById(pullRequestId);
+        }
+    }
+
+    @Benchmark
+    public String mergePullRequest(MergeState state) throws Exception {
+        return gitService.mergePullRequest(state.pullRequestId);
+    }
+
+
+    private void branch(String branchName, String from) throws IOException {
+        RefUpdate refUpdate = repository.updateRef(Constants.R_HEADS + branchName);
+        refUpdate.setNewObjectId(repository.resolve(Constants.R_HEADS + from));
+        RefUpdate.Result result = refUpdate.forceUpdate();
+        if (result != RefUpdate.Result.NEW && result != RefUpdate.Result.FORCED
+                && result != RefUpdate.Result.NO_CHANGE) {
+            throw new IOException("Failed to create branch " + branchName + ": " + result);
+        }
+    }
+
+    private void deleteBranch(String branchName) throws IOException {
+        RefUpdate refUpdate = repository.updateRef(Constants.R_HEADS + branchName);
+        refUpdate.setForceUpdate(true);
+        RefUpdate.Result result = refUpdate.delete();
+        if (result != RefUpdate.Result.FORCED && result != RefUpdate.Result.NO_CHANGE) {
+            throw new IOException("Failed to delete branch " + branchName + ": " + result);
+        }
+    }
+
+    private static String[] syntheticDiffLines(Random random, int count) {
+        List<String> lines = new ArrayList<>(count);
+        lines.add("diff --git a/File.java b/File.java");
+        lines.add("--- a/File.java");
+        lines.add("+++ b/File.java");
+        for (int i = 0; i < count; i++) {
+            char prefix = switch (random.nextInt(3)) {
+                case 0 -> '+';
+                case 1 -> '-';
+                default -> ' ';
+            };
+            lines.add(prefix + "line " + random.nextInt(1_000_000));
+        }
+        return lines.toArray(new String[0]);
+    }
+}
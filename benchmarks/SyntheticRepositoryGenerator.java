@@ -0,0 +1,146 @@
+package com.gitrepository.gitrepository.service;
+
+import org.eclipse.jgit.dircache.DirCache;
+import org.eclipse.jgit.dircache.DirCacheBuilder;
+import org.eclipse.jgit.dircache.DirCacheEntry;
+import org.eclipse.jgit.lib.CommitBuilder;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.RefUpdate;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+public class SyntheticRepositoryGenerator {
+
+    static final String MAIN_BRANCH = "master";
+    static final String CONFLICT_BRANCH = "feature-0";
+
+    private static final long EPOCH_MILLIS = 1_600_000_000_000L;
+    private static final int COMMITS_PER_BRANCH = 3;
+
+    private final int fileCount;
+    private final int historyDepth;
+    private final int branchFanOut;
+    private final int blobSize;
+    private final long seed;
+
+    private Random random;
+    private int commitNumber;
+
+    public SyntheticRepositoryGenerator(int fileCount, int historyDepth, int branchFanOut, int blobSize, long seed) {
+        if (fileCount < 1 || historyDepth < 1 || branchFanOut < 1 || blobSize < 1) {
+            throw new IllegalArgumentException("fileCount, historyDepth, branchFanOut and blobSize must be positive");
+        }
+        this.fileCount = fileCount;
+        this.historyDepth = historyDepth;
+        this.branchFanOut = branchFanOut;
+        this.blobSize = blobSize;
+        this.seed = seed;
+    }
+
+    public File generate(File baseDirectory, String repoName) throws IOException {
+        random = new Random(seed);
+        commitNumber = 0;
+        File gitDir = new File(baseDirectory, repoName + ".git");
+        try (Repository repository = FileRepositoryBuilder.create(gitDir);
+             ObjectInserter inserter = repository.newObjectInserter()) {
+            repository.create(true);
+
+            Map<String, ObjectId> files = new TreeMap<>();
+            for (int i = 0; i < fileCount; i++) {
+                files.put(pathOf(i), insertBlob(inserter, i));
+            }
+            ObjectId tip = commit(inserter, files, "Initial commit");
+
+            int changesPerCommit = Math.max(1, fileCount / 100);
+            for (int depth = 1; depth < historyDepth; depth++) {
+                touch(inserter, files, changesPerCommit);
+                tip = commit(inserter, files, "Change " + depth, tip);
+            }
+            ObjectId forkPoint = tip;
+            Map<String, ObjectId> forkFiles = new TreeMap<>(files);
+
+            for (int branch = 0; branch < branchFanOut; branch++) {
+                Map<String, ObjectId> branchFiles = new TreeMap<>(forkFiles);
+                ObjectId branchTip = forkPoint;
+                for (int i = 0; i < COMMITS_PER_BRANCH; i++) {
+                    touch(inserter, branchFiles, changesPerCommit);
+                    if (branch == 0) {
+                        branchFiles.put(pathOf(0), insertBlob(inserter, -1));
+                    }
+                    branchTip = commit(inserter, branchFiles, "feature-" + branch + " change " + i, branchTip);
+                }
+                inserter.flush();
+                updateRef(repository, "feature-" + branch, branchTip);
+            }
+
+            files.put(pathOf(0), insertBlob(inserter, -2));
+            tip = commit(inserter, files, "Conflicting change on " + MAIN_BRANCH, tip);
+            inserter.flush();
+            updateRef(repository, MAIN_BRANCH, tip);
+        }
+        return gitDir;
+    }
+
+    static String pathOf(int index) {
+        return "src/pkg" + (index % 32) + "/File" + index + ".java";
+    }
+
+    private void touch(ObjectInserter inserter, Map<String, ObjectId> files, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            int index = random.nextInt(fileCount);
+            files.put(pathOf(index), insertBlob(inserter, index));
+        }
+    }
+
+    private ObjectId insertBlob(ObjectInserter inserter, int index) throws IOException {
+        StringBuilder content = new StringBuilder(blobSize + 64);
+        content.append("// file ").append(index).append('\n');
+        while (content.length() < blobSize) {
+            content.append("line ").append(random.nextInt(1_000_000)).append(" of ").append(index).append('\n');
+        }
+        return inserter.insert(Constants.OBJ_BLOB, content.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ObjectId commit(ObjectInserter inserter, Map<String, ObjectId> files, String message,
+                            ObjectId... parents) throws IOException {
+        DirCache dirCache = DirCache.newInCore();
+        DirCacheBuilder builder = dirCache.builder();
+        for (Map.Entry<String, ObjectId> file : files.entrySet()) {
+            DirCacheEntry entry = new DirCacheEntry(file.getKey());
+            entry.setFileMode(FileMode.REGULAR_FILE);
+            entry.setObjectId(file.getValue());
+            builder.add(entry);
+        }
+        builder.finish();
+
+        PersonIdent ident = new PersonIdent("Synthetic", "synthetic@example.com",
+                EPOCH_MILLIS + 60_000L * commitNumber++, 0);
+        CommitBuilder commit = new CommitBuilder();
+        commit.setTreeId(dirCache.writeTree(inserter));
+        commit.setAuthor(ident);
+        commit.setCommitter(ident);
+        commit.setMessage(message);
+        commit.setParentIds(parents);
+        return inserter.insert(commit);
+    }
+
+    private void updateRef(Repository repository, String branchName, ObjectId tip) throws IOException {
+        RefUpdate refUpdate = repository.updateRef(Constants.R_HEADS + branchName);
+        refUpdate.setNewObjectId(tip);
+        RefUpdate.Result result = refUpdate.forceUpdate();
+        if (result != RefUpdate.Result.NEW && result != RefUpdate.Result.FORCED) {
+            throw new IOException("Failed to create branch " + branchName + ": " + result);
+        }
+    }
+}
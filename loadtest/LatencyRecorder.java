@@ -0,0 +1,50 @@
+package com.gitrepository.gitrepository.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int count;
+    private int errors;
+
+    public synchronized void record(long nanos, boolean success) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, samples.length * 2);
+        }
+        samples[count++] = nanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    public synchronized Map<String, Object> summarize(long elapsedNanos) {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", count);
+        summary.put("errors", errors);
+        summary.put("errorRate", count == 0 ? 0.0 : (double) errors / count);
+        summary.put("throughputPerSecond", elapsedNanos == 0 ? 0.0 : count / (elapsedNanos / 1e9));
+        summary.put("p50Millis", percentileMillis(sorted, 0.50));
+        summary.put("p99Millis", percentileMillis(sorted, 0.99));
+        summary.put("p999Millis", percentileMillis(sorted, 0.999));
+        summary.put("maxMillis", sorted.length == 0 ? 0.0 : toMillis(sorted[sorted.length - 1]));
+        return summary;
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return toMillis(sorted[Math.max(0, Math.min(sorted.length - 1, index))]);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,267 @@
+package com.gitrepository.gitrepository.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+public class LoadScenario {
+
+    private static final Logger LOGGER = Logger.getLogger(LoadScenario.class.getName());
+
+    static final String MAIN_BRANCH = "master";
+
+    private static final Duration ANALYSIS_TIMEOUT = Duration.ofMinutes(2);
+    private static final long ANALYSIS_POLL_MILLIS = 50;
+
+    private final String baseUrl;
+    private final int concurrency;
+    private final int repositories;
+    private final Duration duration;
+    private final long seed;
+    private final Map<String, Integer> mix;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, LatencyRecorder> recorders = new ConcurrentHashMap<>();
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    public LoadScenario(String baseUrl, int concurrency, int repositories, Duration duration, long seed,
+                        Map<String, Integer> mix) {
+        this.baseUrl = baseUrl;
+        this.concurrency = concurrency;
+        this.repositories = repositories;
+        this.duration = duration;
+        this.seed = seed;
+        this.mix = mix;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    public void seed() throws IOException, InterruptedException {
+        for (int repo = 0; repo < repositories; repo++) {
+            String repoName = repoName(repo);
+            // Both endpoints answer 200 with an error message on failure, so check the body as well.
+            expectBody(post("/git/create", Map.of("repoName", repoName, "description", "load test")),
+                    "Repository created:");
+            expectBody(post("/git/branch", Map.of("repoName", repoName, "branchName", "feature")),
+                    "Branch created:");
+            for (int i = 0; i < 20; i++) {
+                expectOk(post("/git/add", Map.of("repoName", repoName, "branchName", "feature",
+                        "fileName", "src/Seed" + i + ".txt", "fileContent", "seed " + i,
+                        "commitMessage", "Seed " + i)));
+            }
+        }
+    }
+
+    public Map<String, Object> run() throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int worker = 0; worker < concurrency; worker++) {
+            Random random = new Random(seed + worker);
+            futures.add(workers.submit(() -> {
+                while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                    runOne(random);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (Exception e) {
+                LOGGER.warning("Worker failed: " + e.getMessage());
+            }
+        }
+        workers.shutdown();
+        workers.awaitTermination(1, TimeUnit.MINUTES);
+        long elapsed = System.nanoTime() - start;
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("concurrency", concurrency);
+        report.put("repositories", repositories);
+        report.put("durationSeconds", duration.toSeconds());
+        report.put("mix", mix);
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        recorders.forEach((endpoint, recorder) -> endpoints.put(endpoint, recorder.summarize(elapsed)));
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    private void runOne(Random random) {
+        String repoName = repoName(random.nextInt(repositories));
+        String operation = pick(random);
+        try {
+            switch (operation) {
+                case "add" -> {
+                    int id = sequence.incrementAndGet();
+                    timed("POST /git/add", () -> post("/git/add", Map.of("repoName", repoName,
+                            "branchName", MAIN_BRANCH, "fileName", "load/File" + id + ".txt",
+                            "fileContent", "content " + id, "commitMessage", "Load " + id)));
+                }
+                case "log" -> timed("GET /git/commit/log", () -> get("/git/commit/log",
+                        Map.of("repoName", repoName, "branchName", MAIN_BRANCH, "limit", "50")));
+                case "fileChanges" -> timed("GET /git/fileChanges", () -> get("/git/fileChanges",
+                        Map.of("repoName", repoName, "sourceBranch", "feature", "targetBranch", MAIN_BRANCH)));
+                case "pullRequest" -> timed("POST /git/pullRequest", () -> post("/git/pullRequest",
+                        Map.of("repoName", repoName, "title", "Load PR", "sourceBranch", "feature",
+                                "targetBranch", MAIN_BRANCH)));
+                case "merge" -> {
+                    Long pullRequestId = prepareMerge(repoName);
+                    if (pullRequestId != null) {
+                        timed("POST /git/merge", () -> post("/git/merge", Map.of("id", String.valueOf(pullRequestId))));
+                    }
+                }
+                default -> throw new IllegalArgumentException("Unknown operation " + operation);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Long prepareMerge(String repoName) throws InterruptedException {
+        int id = sequence.incrementAndGet();
+        String branchName = "merge-" + id;
+        try {
+            expectBody(post("/git/branch", Map.of("repoName", repoName, "branchName", branchName)),
+                    "Branch created:");
+            expectOk(post("/git/add", Map.of("repoName", repoName, "branchName", branchName,
+                    "fileName", "merge/File" + id + ".txt", "fileContent", "merge " + id,
+                    "commitMessage", "Merge prep " + id)));
+            HttpResponse<String> response = post("/git/pullRequest", Map.of("repoName", repoName,
+                    "title", "Merge " + id, "sourceBranch", branchName, "targetBranch", MAIN_BRANCH,
+                    "async", "true"));
+            if (response.statusCode() != 202) {
+                recorder("prepare merge").record(0, false);
+                return null;
+            }
+            long pullRequestId = objectMapper.readTree(response.body()).get("id").asLong();
+            // Merges are refused while the analysis is still pending, so only time the merge once it has finished.
+            if (!awaitAnalysis(pullRequestId)) {
+                recorder("prepare merge").record(0, false);
+                return null;
+            }
+            return pullRequestId;
+        } catch (IOException e) {
+            recorder("prepare merge").record(0, false);
+            return null;
+        }
+    }
+
+    private boolean awaitAnalysis(long pullRequestId) throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + ANALYSIS_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            HttpResponse<String> response = get("/git/pullRequest/" + pullRequestId + "/status", Map.of());
+            expectOk(response);
+            String status = objectMapper.readTree(response.body()).path("analysisStatus").asText();
+            if ("COMPLETED".equals(status)) {
+                return true;
+            }
+            if ("FAILED".equals(status)) {
+                return false;
+            }
+            Thread.sleep(ANALYSIS_POLL_MILLIS);
+        }
+        return false;
+    }
+
+    private String pick(Random random) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int roll = random.nextInt(total);
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty operation mix");
+    }
+
+    private void timed(String endpoint, HttpCall call) throws InterruptedException {
+        long start = System.nanoTime();
+        boolean success;
+        try {
+            int status = call.execute().statusCode();
+            success = status >= 200 && status < 300;
+        } catch (IOException e) {
+            success = false;
+        }
+        recorder(endpoint).record(System.nanoTime() - start, success);
+    }
+
+    private LatencyRecorder recorder(String endpoint) {
+        return recorders.computeIfAbsent(endpoint, name -> new LatencyRecorder());
+    }
+
+    private HttpResponse<String> get(String path, Map<String, String> params) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path + "?" + encode(params)))
+                .timeout(Duration.ofMinutes(2))
+                .GET()
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, Map<String, String> params) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofMinutes(2))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(encode(params)))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static void expectOk(HttpResponse<String> response) throws IOException {
+        if (response.statusCode() >= 300) {
+            throw new IOException("Request " + response.request().uri() + " failed with "
+                    + response.statusCode() + ": " + response.body());
+        }
+    }
+
+    private static void expectBody(HttpResponse<String> response, String prefix) throws IOException {
+        expectOk(response);
+        if (response.body() == null || !response.body().startsWith(prefix)) {
+            throw new IOException("Request " + response.request().uri() + " failed: " + response.body());
+        }
+    }
+
+    private static String encode(Map<String, String> params) {
+        StringBuilder encoded = new StringBuilder();
+        for (Map.Entry<String, String> param : params.entrySet()) {
+            if (encoded.length() > 0) {
+                encoded.append('&');
+            }
+            encoded.append(URLEncoder.encode(param.getKey(), StandardCharsets.UTF_8))
+                    .append('=')
+                    .append(URLEncoder.encode(param.getValue(), StandardCharsets.UTF_8));
+        }
+        return encoded.toString();
+    }
+
+    private static String repoName(int index) {
+        return "load-" + index;
+    }
+
+    @FunctionalInterface
+    private interface HttpCall {
+        HttpResponse<String> execute() throws IOException, InterruptedException;
+    }
+}
@@ -0,0 +1,150 @@
+package com.gitrepository.gitrepository.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.gitrepository.gitrepository.GitrepositoryApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+public class LoadTestMain {
+
+    private static final String DEFAULT_MIX = "add=20,log=40,fileChanges=20,pullRequest=10,merge=10";
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        List<String> appProperties = new ArrayList<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value but got: " + arg);
+            }
+            String key = arg.startsWith("--") ? arg.substring(2, separator) : arg.substring(0, separator);
+            String value = arg.substring(separator + 1);
+            if (key.startsWith("git.") || key.startsWith("spring.") || key.startsWith("server.")) {
+                appProperties.add(key + "=" + value);
+            } else {
+                options.put(key, value);
+            }
+        }
+
+        Path baseDirectory = Files.createTempDirectory("git-loadtest-");
+        List<String> properties = new ArrayList<>(List.of(
+                "server.port=0",
+                "git.base.directory=" + baseDirectory.toAbsolutePath(),
+                "spring.datasource.url=jdbc:h2:mem:git-loadtest;DB_CLOSE_DELAY=-1",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.main.banner-mode=off"));
+
+        // Measure the production lock path: unless told otherwise, run against a throwaway redis-server.
+        Process redis = null;
+        boolean localLocks = appProperties.contains("git.lock.mode=local");
+        boolean redisGiven = appProperties.stream().anyMatch(property -> property.startsWith("git.redis.address="));
+        if (!localLocks && !redisGiven) {
+            int redisPort = freePort();
+            redis = startRedis(options.getOrDefault("redisServer", "redis-server"), redisPort);
+            properties.add("git.redis.address=redis://127.0.0.1:" + redisPort);
+        }
+        properties.addAll(appProperties);
+
+        ConfigurableApplicationContext context = null;
+        try {
+            context = new SpringApplicationBuilder(GitrepositoryApplication.class)
+                    .properties(properties.toArray(new String[0]))
+                    .run();
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LoadScenario scenario = new LoadScenario("http://localhost:" + port,
+                    Integer.parseInt(options.getOrDefault("concurrency", "16")),
+                    Integer.parseInt(options.getOrDefault("repositories", "1")),
+                    Duration.ofSeconds(Long.parseLong(options.getOrDefault("durationSeconds", "60"))),
+                    Long.parseLong(options.getOrDefault("seed", "42")),
+                    parseMix(options.getOrDefault("mix", DEFAULT_MIX)));
+            scenario.seed();
+            Map<String, Object> report = scenario.run();
+
+            String json = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(report);
+            System.out.println(json);
+            String reportPath = options.get("report");
+            if (reportPath != null) {
+                Files.writeString(Path.of(reportPath), json);
+            }
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+            if (redis != null) {
+                redis.destroy();
+                redis.waitFor(10, TimeUnit.SECONDS);
+            }
+            try (Stream<Path> paths = Files.walk(baseDirectory)) {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    private static Process startRedis(String executable, int port) throws IOException, InterruptedException {
+        Process process;
+        try {
+            process = new ProcessBuilder(executable, "--port", String.valueOf(port), "--bind", "127.0.0.1",
+                    "--save", "", "--appendonly", "no")
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+        } catch (IOException e) {
+            throw new IOException("Could not start " + executable + "; pass redisServer=<path>, "
+                    + "git.redis.address=<redis://host:port> or git.lock.mode=local", e);
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IOException(executable + " exited with " + process.exitValue());
+            }
+            try (Socket socket = new Socket("127.0.0.1", port)) {
+                return process;
+            } catch (IOException e) {
+                Thread.sleep(50);
+            }
+        }
+        process.destroy();
+        throw new IOException(executable + " did not accept connections on port " + port);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] weight = part.trim().split("=");
+            if (weight.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + part);
+            }
+            int value = Integer.parseInt(weight[1].trim());
+            if (value > 0) {
+                weights.put(weight[0].trim(), value);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Operation mix is empty");
+        }
+        return weights;
+    }
+}
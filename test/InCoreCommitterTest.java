@@ -0,0 +1,192 @@
+package com.gitrepository.gitrepository.service;
+
+import org.eclipse.jgit.dircache.DirCache;
+import org.eclipse.jgit.dircache.DirCacheBuilder;
+import org.eclipse.jgit.dircache.DirCacheEntry;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InCoreCommitterTest {
+
+    private static final ObjectId README = blob("readme");
+    private static final ObjectId MAIN = blob("main");
+    private static final ObjectId NEW = blob("new");
+
+    private final InCoreCommitter committer = new InCoreCommitter();
+
+    private DirCache dirCache;
+    private Map<String, InCoreCommitter.FileState> overlay;
+
+    @BeforeEach
+    void setUp() {
+        dirCache = DirCache.newInCore();
+        DirCacheBuilder builder = dirCache.builder();
+        builder.add(entry("README.md", README));
+        builder.add(entry("src/Main.java", MAIN));
+        builder.finish();
+        overlay = new HashMap<>();
+    }
+
+    @Test
+    void createThenMoveLeavesOnlyTheTarget() {
+        TreeEdits edits = new TreeEdits();
+        edits.create("docs/new.md", NEW, null);
+        edits.move("docs/new.md", "docs/moved.md");
+
+        apply(edits);
+
+        assertDeleted("docs/new.md");
+        assertFile("docs/moved.md", NEW, FileMode.REGULAR_FILE);
+    }
+
+    @Test
+    void deleteThenRecreateUsesTheNewContent() {
+        TreeEdits edits = new TreeEdits();
+        edits.delete("README.md");
+        edits.create("README.md", NEW, FileMode.EXECUTABLE_FILE);
+
+        apply(edits);
+
+        assertFile("README.md", NEW, FileMode.EXECUTABLE_FILE);
+    }
+
+    @Test
+    void createWithoutDeleteIsRejected() {
+        TreeEdits edits = new TreeEdits();
+        edits.create("README.md", NEW, null);
+
+        assertThrows(IllegalArgumentException.class, () -> apply(edits));
+    }
+
+    @Test
+    void chainedMovesCarryTheOriginalBlob() {
+        TreeEdits edits = new TreeEdits();
+        edits.move("src/Main.java", "src/App.java");
+        edits.move("src/App.java", "lib/App.java");
+
+        apply(edits);
+
+        assertDeleted("src/Main.java");
+        assertDeleted("src/App.java");
+        assertFile("lib/App.java", MAIN, FileMode.REGULAR_FILE);
+    }
+
+    @Test
+    void moveOntoAnExistingFileIsRejected() {
+        TreeEdits edits = new TreeEdits();
+        edits.move("src/Main.java", "README.md");
+
+        assertThrows(IllegalArgumentException.class, () -> apply(edits));
+    }
+
+    @Test
+    void moveOntoADeletedFileIsAllowed() {
+        TreeEdits edits = new TreeEdits();
+        edits.delete("README.md");
+        edits.move("src/Main.java", "README.md");
+
+        apply(edits);
+
+        assertDeleted("src/Main.java");
+        assertFile("README.md", MAIN, FileMode.REGULAR_FILE);
+    }
+
+    @Test
+    void moveFromAPathAlreadyMovedAwayIsRejected() {
+        TreeEdits edits = new TreeEdits();
+        edits.move("src/Main.java", "src/App.java");
+        edits.move("src/Main.java", "lib/Main.java");
+
+        assertThrows(IllegalArgumentException.class, () -> apply(edits));
+    }
+
+    @Test
+    void fileBelowAnExistingFileIsRejected() {
+        TreeEdits edits = new TreeEdits();
+        edits.create("README.md/notes.txt", NEW, null);
+
+        assertThrows(IllegalArgumentException.class, () -> apply(edits));
+    }
+
+    @Test
+    void fileOverAnExistingDirectoryIsRejected() {
+        TreeEdits edits = new TreeEdits();
+        edits.put("src", NEW);
+
+        assertThrows(IllegalArgumentException.class, () -> apply(edits));
+    }
+
+    @Test
+    void fileOverADirectoryCreatedInTheSameChangesetIsRejected() {
+        TreeEdits edits = new TreeEdits();
+        edits.create("docs/new.md", NEW, null);
+        edits.move("README.md", "docs");
+
+        assertThrows(IllegalArgumentException.class, () -> apply(edits));
+    }
+
+    @Test
+    void deletedDirectoryCanBeReplacedByAFile() {
+        TreeEdits edits = new TreeEdits();
+        edits.delete("src");
+        edits.create("src", NEW, null);
+
+        apply(edits);
+
+        assertDeleted("src/Main.java");
+        assertFile("src", NEW, FileMode.REGULAR_FILE);
+    }
+
+    @Test
+    void deletedFileCanBecomeADirectory() {
+        TreeEdits edits = new TreeEdits();
+        edits.delete("README.md");
+        edits.create("README.md/index.md", NEW, null);
+
+        apply(edits);
+
+        assertDeleted("README.md");
+        assertFile("README.md/index.md", NEW, FileMode.REGULAR_FILE);
+    }
+
+    private void apply(TreeEdits edits) {
+        for (TreeEdits.Operation operation : edits.getOperations()) {
+            committer.apply(dirCache, overlay, operation);
+        }
+    }
+
+    private void assertDeleted(String path) {
+        assertTrue(overlay.containsKey(path), path + " was not touched");
+        assertNull(overlay.get(path), path + " still exists");
+    }
+
+    private void assertFile(String path, ObjectId blobId, FileMode fileMode) {
+        InCoreCommitter.FileState state = overlay.get(path);
+        assertEquals(blobId, state == null ? null : state.getBlobId());
+        assertEquals(fileMode, state.getFileMode());
+    }
+
+    private static DirCacheEntry entry(String path, ObjectId blobId) {
+        DirCacheEntry entry = new DirCacheEntry(path);
+        entry.setFileMode(FileMode.REGULAR_FILE);
+        entry.setObjectId(blobId);
+        return entry;
+    }
+
+    private static ObjectId blob(String content) {
+        return new ObjectInserter.Formatter().idFor(Constants.OBJ_BLOB, content.getBytes(StandardCharsets.UTF_8));
+    }
+}